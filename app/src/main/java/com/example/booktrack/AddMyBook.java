@@ -37,13 +37,11 @@ import com.bumptech.glide.Glide;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.storage.FirebaseStorage;
-import com.google.firebase.storage.StorageReference;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * Activity for adding new books to the user's collection in the BookTrack application.
@@ -120,11 +118,6 @@ public class AddMyBook extends AppCompatActivity {
      */
     private Uri imageUri;
 
-    /**
-     * URL of the uploaded image stored in Firebase Storage.
-     */
-    private String imageUrl;
-
     /**
      * Main view container for applying background styling.
      */
@@ -352,45 +345,15 @@ public class AddMyBook extends AppCompatActivity {
             return;
         }
 
-        uploadImageAndSaveBook(name, author, genre, state, pages);
-    }
-
-    /**
-     * Handles the image upload process to Firebase Storage before saving book data.
-     * If no image is selected, proceeds directly to save the book without an image URL.
-     * Otherwise, uploads the image to Firebase Storage and retrieves the download URL.
-     *
-     * @param name The book title
-     * @param author The author's name
-     * @param genre The selected genre
-     * @param state The reading status
-     * @param pages The page count as a string
-     */
-    private void uploadImageAndSaveBook (String name, String author, String genre, String state, String pages){
-        if (imageUri == null) {
-            imageUrl = null;
-            saveBookToFirestore(name, author, genre, state, pages);
-            return;
-        }
-
-        FirebaseStorage storage = FirebaseStorage.getInstance();
-        StorageReference ref = storage.getReference().child("book_images/" + UUID.randomUUID());
-
-        ref.putFile(imageUri)
-                .addOnSuccessListener(taskSnapshot ->
-                        ref.getDownloadUrl().addOnSuccessListener(uri -> {
-                            imageUrl = uri.toString();
-                            saveBookToFirestore(name, author, genre, state, pages);
-                        })
-                )
-                .addOnFailureListener(e ->
-                        Toast.makeText(this, "Image upload failed", Toast.LENGTH_SHORT).show()
-                );
+        saveBookToFirestore(name, author, genre, state, pages);
     }
 
     /**
      * Saves the book information to Firebase Firestore under the authenticated user's collection.
      * Creates a new document in the user's books subcollection with all provided book data.
+     * If a cover was selected, its upload is handed to {@link CoverUploadWorker}, which adds
+     * the image URLs to the book once the upload finishes, so the book is saved even if the
+     * upload is slow or fails.
      * Upon successful save, displays a success message and finishes the activity.
      *
      * @param name The book title
@@ -412,15 +375,20 @@ public class AddMyBook extends AppCompatActivity {
         book.put("genre", genre);
         book.put("situation", state);
         book.put("pageCount", Integer.parseInt(pages));
-        if (imageUrl != null) {
-            book.put("imageUrl", imageUrl);
-        }
+        book.put("updatedAt", System.currentTimeMillis());
 
-        db.collection("users")
+        DocumentReference bookRef = db.collection("users")
                 .document(uid)
                 .collection("books")
-                .add(book)
-                .addOnSuccessListener(doc -> {
+                .document();
+
+        // Queue the cover upload right away so it survives this activity going away
+        if (imageUri != null) {
+            CoverUploadWorker.enqueue(this, uid, bookRef.getId(), imageUri);
+        }
+
+        bookRef.set(book)
+                .addOnSuccessListener(unused -> {
                     Toast.makeText(this, "Book added successfully!", Toast.LENGTH_SHORT).show();
                     Intent si = new Intent();
                     setResult(Activity.RESULT_OK, si);
@@ -0,0 +1,177 @@
+package com.example.booktrack;
+
+import android.content.Intent;
+import android.net.Uri;
+import android.os.Bundle;
+import android.util.Log;
+import android.widget.Button;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.content.FileProvider;
+
+import com.google.android.material.floatingactionbutton.FloatingActionButton;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Diagnostics screen showing how late reading alarms are delivered on this device.
+ * Reached by long-pressing the Alarms tab of {@link TimeToRead}.
+ *
+ * <p>Key features include:
+ * <ul>
+ *   <li>p50, p95 and p99 delivery lateness, overall and per AlarmManager mode</li>
+ *   <li>Alarm wake-ups per day</li>
+ *   <li>The alarms currently waiting in the {@link AlarmRegistry}</li>
+ *   <li>Export of the raw samples as a CSV file through the share sheet</li>
+ * </ul></p>
+ *
+ * <p>The figures come from {@link AlarmTelemetry} and are read on a background thread.</p>
+ *
+ * @author BookTrack Development Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class AlarmDiagnostics extends AppCompatActivity {
+
+    /** Arming modes listed individually in the summary */
+    private static final String[] MODES = {
+            AlarmTelemetry.MODE_EXACT, AlarmTelemetry.MODE_ALLOW_WHILE_IDLE,
+            AlarmTelemetry.MODE_WINDOW, AlarmTelemetry.MODE_INEXACT};
+
+    /** Background thread for database reads and the export */
+    private static final ExecutorService diskExecutor = Executors.newSingleThreadExecutor();
+
+    /** TextView showing the lateness percentiles and wake-up rate */
+    private TextView latencySummary;
+
+    /** TextView listing the armed alarms */
+    private TextView armedAlarms;
+
+    /**
+     * Initializes the screen and loads the figures.
+     *
+     * @param savedInstanceState the saved state, or null
+     */
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_alarm_diagnostics);
+
+        latencySummary = findViewById(R.id.latency_summary);
+        armedAlarms = findViewById(R.id.armed_alarms);
+        FloatingActionButton arrow = findViewById(R.id.arrow);
+        Button exportButton = findViewById(R.id.export_button);
+        Button clearButton = findViewById(R.id.clear_button);
+
+        arrow.setOnClickListener(v -> finish());
+        exportButton.setOnClickListener(v -> exportSamples());
+        clearButton.setOnClickListener(v -> diskExecutor.execute(() -> {
+            AlarmTelemetry.getInstance(this).clear();
+            runOnUiThread(this::load);
+        }));
+
+        load();
+    }
+
+    /**
+     * Reads the telemetry summary and the armed alarms off the main thread and shows them.
+     */
+    private void load() {
+        diskExecutor.execute(() -> {
+            AlarmTelemetry telemetry = AlarmTelemetry.getInstance(this);
+            StringBuilder summary = new StringBuilder();
+            appendSummary(summary, "All", telemetry.summarize(null));
+            for (String mode : MODES) {
+                AlarmTelemetry.Summary modeSummary = telemetry.summarize(mode);
+                if (modeSummary.samples > 0) appendSummary(summary, mode, modeSummary);
+            }
+
+            List<AlarmQueue.Entry> armed = AlarmRegistry.getInstance(this).getArmedAlarms();
+            SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm", Locale.getDefault());
+            StringBuilder alarms = new StringBuilder();
+            for (AlarmQueue.Entry entry : armed) {
+                alarms.append(format.format(new Date(entry.alarm.getDeadlineMillis())))
+                        .append("  ").append(AlarmPrecision.of(entry.alarm))
+                        .append("  ").append(entry.alarm.getBookName())
+                        .append('\n');
+            }
+            if (armed.isEmpty()) alarms.append("No alarms armed");
+
+            runOnUiThread(() -> {
+                if (isFinishing() || isDestroyed()) return;
+                latencySummary.setText(summary.toString().trim());
+                armedAlarms.setText(alarms.toString().trim());
+            });
+        });
+    }
+
+    /**
+     * Appends one block of figures to the summary text.
+     *
+     * @param out     the summary text
+     * @param label   the heading of the block
+     * @param summary the figures
+     */
+    private static void appendSummary(StringBuilder out, String label, AlarmTelemetry.Summary summary) {
+        out.append(label).append(" (").append(summary.samples).append(" wake-ups)\n");
+        if (summary.samples == 0) {
+            out.append("  No alarms delivered yet\n\n");
+            return;
+        }
+        out.append("  p50 ").append(formatLateness(summary.p50))
+                .append("  p95 ").append(formatLateness(summary.p95))
+                .append("  p99 ").append(formatLateness(summary.p99)).append('\n')
+                .append(String.format(Locale.getDefault(), "  %.1f wake-ups per day%n%n", summary.wakeupsPerDay));
+    }
+
+    /**
+     * Formats a lateness in seconds, or minutes once it exceeds two minutes.
+     *
+     * @param millis the lateness in milliseconds; negative if early
+     * @return the formatted lateness
+     */
+    private static String formatLateness(long millis) {
+        if (Math.abs(millis) >= 2 * 60 * 1000) {
+            return String.format(Locale.getDefault(), "%.1fm", millis / 60000.0);
+        }
+        return String.format(Locale.getDefault(), "%.1fs", millis / 1000.0);
+    }
+
+    /**
+     * Writes the samples to a CSV file in the cache directory and offers it through the share sheet.
+     */
+    private void exportSamples() {
+        diskExecutor.execute(() -> {
+            File dir = new File(getCacheDir(), "exports");
+            File file = new File(dir, "alarm_telemetry.csv");
+            try {
+                if (!dir.isDirectory() && !dir.mkdirs()) throw new IOException("Cannot create " + dir);
+                try (Writer writer = new FileWriter(file)) {
+                    AlarmTelemetry.getInstance(this).exportCsv(writer);
+                }
+            } catch (IOException e) {
+                Log.e("AlarmDiagnostics", "Failed to export alarm telemetry", e);
+                runOnUiThread(() -> Toast.makeText(this, "Export failed", Toast.LENGTH_SHORT).show());
+                return;
+            }
+
+            Uri uri = FileProvider.getUriForFile(this, getPackageName() + ".fileprovider", file);
+            Intent share = new Intent(Intent.ACTION_SEND)
+                    .setType("text/csv")
+                    .putExtra(Intent.EXTRA_STREAM, uri)
+                    .addFlags(Intent.FLAG_GRANT_READ_URI_PERMISSION);
+            runOnUiThread(() -> startActivity(Intent.createChooser(share, "Export alarm telemetry")));
+        });
+    }
+}
@@ -43,6 +43,12 @@ public class AlarmItem {
      */
     private String bookImageUrl;
 
+    /**
+     * URL of the small list thumbnail of the book's cover.
+     * Null for alarms created before cover thumbnails existed.
+     */
+    private String bookThumbUrl;
+
     /**
      * Deadline timestamp in milliseconds since Unix epoch.
      * Represents when the alarm should trigger or when the reading deadline occurs.
@@ -55,6 +61,29 @@ public class AlarmItem {
      */
     private String message;
 
+    /**
+     * Recurrence rule of the alarm, one of the {@link AlarmRecurrence} rules.
+     * Null or {@link AlarmRecurrence#NONE} for one-time alarms. For recurring alarms,
+     * {@link #deadlineMillis} holds the next occurrence.
+     */
+    private String recurrence;
+
+    /**
+     * Number of days between occurrences for the {@link AlarmRecurrence#INTERVAL} rule.
+     */
+    private int intervalDays;
+
+    /**
+     * Delivery precision, one of the {@link AlarmPrecision} values.
+     * Null for alarms created before precisions existed, which are exact.
+     */
+    private String precision;
+
+    /**
+     * Delivery window in milliseconds after the deadline for {@link AlarmPrecision#WINDOWED} alarms.
+     */
+    private long windowMillis;
+
     /**
      * Default constructor required for Firebase Firestore serialization.
      * Creates an AlarmItem with all fields initialized to their default values.
@@ -80,6 +109,26 @@ public class AlarmItem {
         this.message = message;
     }
 
+    /**
+     * Copy constructor creating an independent AlarmItem with the same field values.
+     * Used where an alarm must change without mutating an instance still held elsewhere.
+     *
+     * @param other the alarm to copy
+     */
+    public AlarmItem(AlarmItem other) {
+        this.alarmId = other.alarmId;
+        this.bookId = other.bookId;
+        this.bookName = other.bookName;
+        this.bookImageUrl = other.bookImageUrl;
+        this.bookThumbUrl = other.bookThumbUrl;
+        this.deadlineMillis = other.deadlineMillis;
+        this.message = other.message;
+        this.recurrence = other.recurrence;
+        this.intervalDays = other.intervalDays;
+        this.precision = other.precision;
+        this.windowMillis = other.windowMillis;
+    }
+
     /**
      * Gets the unique identifier for this alarm item.
      *
@@ -152,6 +201,24 @@ public class AlarmItem {
         this.bookImageUrl = bookImageUrl;
     }
 
+    /**
+     * Gets the URL of the small list thumbnail of the book's cover.
+     *
+     * @return The book thumbnail URL as a String, or null if not set
+     */
+    public String getBookThumbUrl() {
+        return bookThumbUrl;
+    }
+
+    /**
+     * Sets the URL of the small list thumbnail of the book's cover.
+     *
+     * @param bookThumbUrl The book thumbnail URL to set
+     */
+    public void setBookThumbUrl(String bookThumbUrl) {
+        this.bookThumbUrl = bookThumbUrl;
+    }
+
     /**
      * Gets the deadline timestamp in milliseconds since Unix epoch.
      *
@@ -188,6 +255,78 @@ public class AlarmItem {
         this.message = message;
     }
 
+    /**
+     * Gets the recurrence rule of this alarm.
+     *
+     * @return The rule, or null for one-time alarms
+     */
+    public String getRecurrence() {
+        return recurrence;
+    }
+
+    /**
+     * Sets the recurrence rule of this alarm.
+     *
+     * @param recurrence One of the {@link AlarmRecurrence} rules, or null for a one-time alarm
+     */
+    public void setRecurrence(String recurrence) {
+        this.recurrence = recurrence;
+    }
+
+    /**
+     * Gets the number of days between occurrences of an interval alarm.
+     *
+     * @return The interval in days
+     */
+    public int getIntervalDays() {
+        return intervalDays;
+    }
+
+    /**
+     * Sets the number of days between occurrences of an interval alarm.
+     *
+     * @param intervalDays The interval in days
+     */
+    public void setIntervalDays(int intervalDays) {
+        this.intervalDays = intervalDays;
+    }
+
+    /**
+     * Gets the delivery precision of this alarm.
+     *
+     * @return The precision, or null for alarms created before precisions existed
+     */
+    public String getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Sets the delivery precision of this alarm.
+     *
+     * @param precision One of the {@link AlarmPrecision} values
+     */
+    public void setPrecision(String precision) {
+        this.precision = precision;
+    }
+
+    /**
+     * Gets the delivery window of a windowed alarm.
+     *
+     * @return The window in milliseconds after the deadline
+     */
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * Sets the delivery window of a windowed alarm.
+     *
+     * @param windowMillis The window in milliseconds after the deadline
+     */
+    public void setWindowMillis(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
     /**
      * Returns a string representation of this AlarmItem.
      * For simplicity and display purposes, this returns the book name.
@@ -0,0 +1,78 @@
+package com.example.booktrack;
+
+/**
+ * Delivery precision of reading alarms.
+ * Exact alarms wake the device at the deadline even in Doze, which is the most expensive
+ * AlarmManager mode. Most reading nudges do not need that, so an alarm may instead allow
+ * a delivery window after its deadline, within which the system batches it with other
+ * wake-ups, or be fully inexact.
+ *
+ * @author BookTrack Development Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class AlarmPrecision {
+
+    /** Delivered at the deadline; requires the exact alarm permission on Android 12+ */
+    public static final String EXACT = "EXACT";
+
+    /** Delivered within {@link AlarmItem#getWindowMillis()} after the deadline */
+    public static final String WINDOWED = "WINDOWED";
+
+    /** Delivered whenever convenient for the system, typically within {@link #INEXACT_WINDOW_MS} */
+    public static final String INEXACT = "INEXACT";
+
+    /** Delay an inexact alarm is allowed before it blocks later alarms */
+    public static final long INEXACT_WINDOW_MS = 60 * 60 * 1000;
+
+    /** Window used for exact alarms while the exact alarm permission is missing */
+    public static final long FALLBACK_WINDOW_MS = 10 * 60 * 1000;
+
+    /** Precisions in the order they are offered in the precision spinner */
+    public static final String[] PRECISIONS = {EXACT, WINDOWED, WINDOWED, INEXACT};
+
+    /**
+     * Delivery windows matching {@link #PRECISIONS}. Android 14 extends windows shorter
+     * than ten minutes, so no shorter window is offered.
+     */
+    public static final long[] WINDOWS = {0, 10 * 60 * 1000, 30 * 60 * 1000, 0};
+
+    /** Spinner labels matching {@link #PRECISIONS} */
+    public static final String[] LABELS = {
+            "Exactly on time", "Within 10 minutes", "Within 30 minutes", "Whenever convenient"};
+
+    /**
+     * Not instantiable; all members are static.
+     */
+    private AlarmPrecision() {}
+
+    /**
+     * Returns the precision of an alarm, treating alarms saved before precisions existed as exact.
+     *
+     * @param alarm the alarm
+     * @return one of {@link #EXACT}, {@link #WINDOWED} or {@link #INEXACT}
+     */
+    public static String of(AlarmItem alarm) {
+        String precision = alarm.getPrecision();
+        if (WINDOWED.equals(precision) && alarm.getWindowMillis() > 0) return WINDOWED;
+        if (INEXACT.equals(precision)) return INEXACT;
+        return EXACT;
+    }
+
+    /**
+     * Returns how long after its deadline an alarm may be delivered.
+     *
+     * @param alarm the alarm
+     * @return the allowed delay in milliseconds; 0 for exact alarms
+     */
+    public static long toleranceOf(AlarmItem alarm) {
+        switch (of(alarm)) {
+            case WINDOWED:
+                return alarm.getWindowMillis();
+            case INEXACT:
+                return INEXACT_WINDOW_MS;
+            default:
+                return 0;
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package com.example.booktrack;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * On-device priority queue of the user's pending alarms, ordered by deadline.
+ * {@link AlarmScheduler} registers only the head of this queue with the system AlarmManager;
+ * {@link AlarmReceiver} pops the due entries when it fires and arms the next one. This keeps
+ * exactly one BookTrack alarm in the system service no matter how many alarms exist.
+ *
+ * <p>The queue is an indexed binary min-heap: an array-backed heap plus a map from alarm ID
+ * to heap position, so inserts, deadline changes and removals by ID all cost O(log n) and
+ * the earliest alarm is read in O(1).</p>
+ *
+ * <p>The table doubles as the durable alarm journal: {@link BootReceiver} restores alarms
+ * from it after a reboot without touching the network, and {@link AlarmSyncWorker} later
+ * reconciles it with Firestore.</p>
+ *
+ * <p>Every change is written through to the {@code alarms} table of {@link BookTrackDatabase}
+ * on a single background thread, in the order the changes were made, so that screens
+ * scheduling or cancelling alarms never wait on disk. Alarms fire in processes that may have
+ * been started just for the broadcast, so receivers call {@link #awaitWrites()} before they
+ * finish. The heap itself is rebuilt from the table in O(n) on first use in a process.</p>
+ *
+ * @author BookTrack Development Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class AlarmQueue {
+
+    /** Process-wide instance */
+    private static AlarmQueue instance;
+
+    /** Background thread writing the journal, in the order the changes were made */
+    private static final ExecutorService journalExecutor = Executors.newSingleThreadExecutor();
+
+    /** Database helper owning the alarms table */
+    private final BookTrackDatabase database;
+
+    /** Heap array; the entry at index 0 has the earliest deadline */
+    private final List<Entry> heap = new ArrayList<>();
+
+    /** Heap index of every queued alarm, keyed by alarm ID */
+    private final Map<String, Integer> positions = new HashMap<>();
+
+    /**
+     * Returns the process-wide alarm queue, loading it from disk on first use.
+     *
+     * @param context any context; only its application context is retained
+     * @return the shared AlarmQueue instance
+     */
+    public static synchronized AlarmQueue getInstance(Context context) {
+        if (instance == null) {
+            instance = new AlarmQueue(BookTrackDatabase.getInstance(context));
+        }
+        return instance;
+    }
+
+    /**
+     * Creates the queue and loads the persisted alarms.
+     *
+     * @param database the helper owning the alarms table
+     */
+    private AlarmQueue(BookTrackDatabase database) {
+        this.database = database;
+        load();
+    }
+
+    /**
+     * Inserts an alarm, or moves it to its new position if it is already queued.
+     *
+     * @param uid         the ID of the user owning the alarm
+     * @param alarm       the alarm; its ID and deadline must be set
+     * @param requestCode the request code assigned to the alarm by {@link AlarmRegistry}
+     */
+    public synchronized void offer(String uid, AlarmItem alarm, int requestCode) {
+        Entry entry = new Entry(uid, alarm, requestCode);
+        persist(entry);
+
+        Integer index = positions.get(alarm.getAlarmId());
+        if (index == null) {
+            heap.add(entry);
+            positions.put(alarm.getAlarmId(), heap.size() - 1);
+            siftUp(heap.size() - 1);
+        } else {
+            heap.set(index, entry);
+            siftUp(index);
+            siftDown(positions.get(alarm.getAlarmId()));
+        }
+    }
+
+    /**
+     * Removes an alarm from the queue.
+     *
+     * @param alarmId the ID of the alarm
+     * @return the removed entry, or null if the alarm was not queued
+     */
+    public synchronized Entry remove(String alarmId) {
+        Integer index = positions.get(alarmId);
+        if (index == null) return null;
+
+        journalExecutor.execute(() -> database.getWritableDatabase().delete(
+                BookTrackDatabase.TABLE_ALARMS, "alarm_id = ?", new String[]{alarmId}));
+        return removeAt(index);
+    }
+
+    /**
+     * Returns the alarm with the earliest deadline without removing it.
+     *
+     * @return the head of the queue, or null if it is empty
+     */
+    public synchronized Entry peek() {
+        return heap.isEmpty() ? null : heap.get(0);
+    }
+
+    /**
+     * Returns the alarm that fires after the head, without removing it.
+     *
+     * @return the second earliest entry, or null if fewer than two alarms are queued
+     */
+    public synchronized Entry peekSecond() {
+        if (heap.size() < 2) return null;
+        if (heap.size() == 2) return heap.get(1);
+        return compare(heap.get(1), heap.get(2)) <= 0 ? heap.get(1) : heap.get(2);
+    }
+
+    /**
+     * Removes and returns every alarm due at the given time, earliest first.
+     *
+     * @param now the current wall-clock time in milliseconds
+     * @return the due entries; empty if none is due
+     */
+    public synchronized List<Entry> pollDue(long now) {
+        List<Entry> due = new ArrayList<>();
+        while (!heap.isEmpty() && heap.get(0).alarm.getDeadlineMillis() <= now) {
+            due.add(removeAt(0));
+        }
+        if (due.isEmpty()) return due;
+
+        List<String> dueIds = new ArrayList<>(due.size());
+        for (Entry entry : due) {
+            dueIds.add(entry.alarm.getAlarmId());
+        }
+        journalExecutor.execute(() -> {
+            SQLiteDatabase db = database.getWritableDatabase();
+            db.beginTransaction();
+            try {
+                for (String alarmId : dueIds) {
+                    db.delete(BookTrackDatabase.TABLE_ALARMS, "alarm_id = ?", new String[]{alarmId});
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        });
+        return due;
+    }
+
+    /**
+     * Blocks until every journal write queued so far is on disk. Must not be called on the
+     * main thread; receivers call it before finishing so their process may be killed safely.
+     */
+    public void awaitWrites() {
+        try {
+            journalExecutor.submit(() -> {}).get();
+        } catch (ExecutionException e) {
+            Log.e("AlarmQueue", "Failed to wait for alarm journal writes", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns a snapshot of all queued alarms in no particular order.
+     *
+     * @return a copy of the queued entries
+     */
+    public synchronized List<Entry> entries() {
+        return new ArrayList<>(heap);
+    }
+
+    /**
+     * Returns whether an alarm is queued.
+     *
+     * @param alarmId the ID of the alarm
+     * @return true if the alarm is waiting to fire
+     */
+    public synchronized boolean contains(String alarmId) {
+        return positions.containsKey(alarmId);
+    }
+
+    /**
+     * Returns the queued entry of an alarm.
+     *
+     * @param alarmId the ID of the alarm
+     * @return the entry, or null if the alarm is not queued
+     */
+    public synchronized Entry get(String alarmId) {
+        Integer index = positions.get(alarmId);
+        return index == null ? null : heap.get(index);
+    }
+
+    /**
+     * Returns the number of queued alarms.
+     *
+     * @return the queue size
+     */
+    public synchronized int size() {
+        return heap.size();
+    }
+
+    /**
+     * Loads all persisted alarms and heapifies them bottom-up in O(n).
+     */
+    private void load() {
+        try (Cursor cursor = database.getReadableDatabase().query(BookTrackDatabase.TABLE_ALARMS,
+                null, null, null, null, null, null)) {
+            while (cursor.moveToNext()) {
+                AlarmItem alarm = new AlarmItem(
+                        cursor.getString(cursor.getColumnIndexOrThrow("alarm_id")),
+                        cursor.getString(cursor.getColumnIndexOrThrow("book_id")),
+                        cursor.getString(cursor.getColumnIndexOrThrow("book_name")),
+                        null,
+                        cursor.getLong(cursor.getColumnIndexOrThrow("deadline_millis")),
+                        cursor.getString(cursor.getColumnIndexOrThrow("message")));
+                alarm.setRecurrence(cursor.getString(cursor.getColumnIndexOrThrow("recurrence")));
+                alarm.setIntervalDays(cursor.getInt(cursor.getColumnIndexOrThrow("interval_days")));
+                alarm.setPrecision(cursor.getString(cursor.getColumnIndexOrThrow("precision")));
+                alarm.setWindowMillis(cursor.getLong(cursor.getColumnIndexOrThrow("window_millis")));
+                heap.add(new Entry(cursor.getString(cursor.getColumnIndexOrThrow("uid")), alarm,
+                        cursor.getInt(cursor.getColumnIndexOrThrow("request_code"))));
+                positions.put(alarm.getAlarmId(), heap.size() - 1);
+            }
+        }
+        for (int i = heap.size() / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    /**
+     * Queues the write of an entry to the alarms table, replacing any previous row for the
+     * alarm. The row is built on the calling thread, so later changes to the alarm object do
+     * not leak into it.
+     *
+     * @param entry the entry to persist
+     */
+    private void persist(Entry entry) {
+        ContentValues values = new ContentValues();
+        values.put("alarm_id", entry.alarm.getAlarmId());
+        values.put("uid", entry.uid);
+        values.put("book_id", entry.alarm.getBookId());
+        values.put("book_name", entry.alarm.getBookName());
+        values.put("message", entry.alarm.getMessage());
+        values.put("deadline_millis", entry.alarm.getDeadlineMillis());
+        values.put("request_code", entry.requestCode);
+        values.put("recurrence", entry.alarm.getRecurrence());
+        values.put("interval_days", entry.alarm.getIntervalDays());
+        values.put("precision", entry.alarm.getPrecision());
+        values.put("window_millis", entry.alarm.getWindowMillis());
+        journalExecutor.execute(() -> database.getWritableDatabase().insertWithOnConflict(
+                BookTrackDatabase.TABLE_ALARMS, null, values, SQLiteDatabase.CONFLICT_REPLACE));
+    }
+
+    /**
+     * Removes the heap entry at the given index and restores the heap property.
+     *
+     * @param index the heap index to remove
+     * @return the removed entry
+     */
+    private Entry removeAt(int index) {
+        Entry removed = heap.get(index);
+        int last = heap.size() - 1;
+        if (index != last) swap(index, last);
+        heap.remove(last);
+        positions.remove(removed.alarm.getAlarmId());
+
+        if (index < heap.size()) {
+            siftUp(index);
+            siftDown(positions.get(heap.get(index).alarm.getAlarmId()));
+        }
+        return removed;
+    }
+
+    /**
+     * Moves the entry at the given index up until its parent is not later than it.
+     *
+     * @param index the heap index to sift
+     */
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (compare(heap.get(index), heap.get(parent)) >= 0) return;
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    /**
+     * Moves the entry at the given index down until neither child is earlier than it.
+     *
+     * @param index the heap index to sift
+     */
+    private void siftDown(int index) {
+        int size = heap.size();
+        while (true) {
+            int left = 2 * index + 1;
+            int right = left + 1;
+            int smallest = index;
+            if (left < size && compare(heap.get(left), heap.get(smallest)) < 0) smallest = left;
+            if (right < size && compare(heap.get(right), heap.get(smallest)) < 0) smallest = right;
+            if (smallest == index) return;
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    /**
+     * Swaps two heap entries and updates their recorded positions.
+     *
+     * @param i the first heap index
+     * @param j the second heap index
+     */
+    private void swap(int i, int j) {
+        Entry a = heap.get(i);
+        Entry b = heap.get(j);
+        heap.set(i, b);
+        heap.set(j, a);
+        positions.put(b.alarm.getAlarmId(), i);
+        positions.put(a.alarm.getAlarmId(), j);
+    }
+
+    /**
+     * Orders entries by deadline, then by alarm ID so that ties are deterministic.
+     *
+     * @param a the first entry
+     * @param b the second entry
+     * @return a negative number if {@code a} fires first
+     */
+    private static int compare(Entry a, Entry b) {
+        int byDeadline = Long.compare(a.alarm.getDeadlineMillis(), b.alarm.getDeadlineMillis());
+        return byDeadline != 0 ? byDeadline : a.alarm.getAlarmId().compareTo(b.alarm.getAlarmId());
+    }
+
+    /**
+     * One queued alarm together with the user it belongs to.
+     */
+    public static class Entry {
+
+        /** ID of the user owning the alarm, used to clean up its Firestore document */
+        public final String uid;
+
+        /** The queued alarm */
+        public final AlarmItem alarm;
+
+        /** Request code of the alarm, unique among all alarms; also used as its notification ID */
+        public final int requestCode;
+
+        /**
+         * Creates an entry.
+         *
+         * @param uid         the ID of the user owning the alarm
+         * @param alarm       the alarm
+         * @param requestCode the request code assigned to the alarm
+         */
+        Entry(String uid, AlarmItem alarm, int requestCode) {
+            this.uid = uid;
+            this.alarm = alarm;
+            this.requestCode = requestCode;
+        }
+    }
+}
@@ -5,16 +5,18 @@ import android.app.NotificationManager;
 import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
-import android.content.SharedPreferences;
 import android.content.pm.PackageManager;
 import android.os.Build;
+import android.os.SystemClock;
 import android.util.Log;
 
 import androidx.core.app.NotificationCompat;
 import androidx.core.content.ContextCompat;
 
-import com.google.firebase.FirebaseApp;
-import com.google.firebase.firestore.FirebaseFirestore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * BroadcastReceiver that handles scheduled reading alarms for the BookTrack application.
@@ -22,11 +24,19 @@ import com.google.firebase.firestore.FirebaseFirestore;
  * and handles the complete alarm processing workflow including notification display
  * and automatic cleanup.
  *
+ * <p>Only the earliest pending alarm is registered with the system, so one broadcast
+ * delivers every alarm that is due and then arms the next one.</p>
+ *
  * <p>The receiver performs critical alarm management functions including:
  * <ul>
  *   <li>Notification permission validation for Android 13+ devices</li>
  *   <li>High-priority notification display with BookTrack branding</li>
- *   <li>Automatic alarm deletion from Firebase Firestore after triggering</li>
+ *   <li>One notification per alarm, identified by the alarm's request code</li>
+ *   <li>Snooze actions (10 minutes, 1 hour, tomorrow) handled by {@link SnoozeReceiver}</li>
+ *   <li>Coalescing of alarms due within a minute into one wake-up and one grouped
+ *       notification with an inbox-style summary</li>
+ *   <li>Automatic alarm deletion from Firebase Firestore after triggering, handed
+ *       to {@link AlarmWriteWorker} so the broadcast returns within milliseconds</li>
  *   <li>Comprehensive error handling and logging for debugging</li>
  *   <li>User session validation through SharedPreferences</li>
  * </ul></p>
@@ -45,6 +55,15 @@ import com.google.firebase.firestore.FirebaseFirestore;
  */
 public class AlarmReceiver extends BroadcastReceiver {
 
+    /** Group key shared by the notifications of alarms delivered together */
+    private static final String GROUP_KEY = "com.example.booktrack.ALARMS";
+
+    /** Notification ID of the group summary */
+    private static final int SUMMARY_NOTIFICATION_ID = 1003;
+
+    /** Background thread used to update the alarm queue outside the main thread */
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor();
+
     /**
      * Called when the BroadcastReceiver is receiving an Intent broadcast from the AlarmManager.
      * This method handles the complete alarm processing workflow including permission validation,
@@ -52,14 +71,20 @@ public class AlarmReceiver extends BroadcastReceiver {
      *
      * <p>The processing workflow includes:
      * <ul>
+     *   <li>Removal of every alarm due now from the {@link AlarmRegistry}</li>
+     *   <li>Arming of the next pending alarm</li>
      *   <li>Notification permission validation for Android 13+ (API 33+) devices</li>
-     *   <li>Extraction of alarm message and ID from the triggering Intent</li>
-     *   <li>Creation and display of a high-priority BookTrack notification</li>
-     *   <li>Firebase initialization and user session validation</li>
-     *   <li>Automatic deletion of the triggered alarm from Firestore</li>
-     *   <li>Comprehensive logging for successful operations and errors</li>
+     *   <li>Creation and display of a high-priority notification per due alarm</li>
+     *   <li>Queuing of the deletion of the triggered alarm from Firestore, or for recurring
+     *       alarms an update of its deadline to the next occurrence</li>
+     *   <li>Recording of the delivery latency with {@link AlarmTelemetry}; the receive time
+     *       is taken before any other work</li>
      * </ul></p>
      *
+     * <p>The work runs on a background thread within {@code goAsync()}; the Firestore write
+     * is left to an expedited {@link AlarmWriteWorker}, which survives this process being
+     * killed and retries until the write succeeded.</p>
+     *
      * <p>Notification features:
      * <ul>
      *   <li>BookTrack logo as the notification icon</li>
@@ -68,57 +93,176 @@ public class AlarmReceiver extends BroadcastReceiver {
      *   <li>Custom channel ID for notification categorization</li>
      * </ul></p>
      *
-     * <p>Error handling covers:
-     * <ul>
-     *   <li>Missing notification permissions on Android 13+</li>
-     *   <li>Invalid or missing user session data</li>
-     *   <li>Firebase connectivity and deletion failures</li>
-     *   <li>Null alarm ID or message data</li>
-     * </ul></p>
-     *
      * @param context The Context in which the receiver is running
      * @param intent  The Intent being received, containing alarm message and ID data
      */
     @Override
     public void onReceive(Context context, Intent intent) {
+        long receivedWall = System.currentTimeMillis();
+        long receivedElapsed = SystemClock.elapsedRealtime();
+        Context appContext = context.getApplicationContext();
+        String alarmId = intent.getStringExtra("alarm_id");
+        String message = intent.getStringExtra("alarm_message");
 
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU &&
-                ContextCompat.checkSelfPermission(context, Manifest.permission.POST_NOTIFICATIONS)
-                        != PackageManager.PERMISSION_GRANTED) {
-            Log.w("AlarmReceiver", "Notification permission not granted");
-            return;
+        PendingResult result = goAsync();
+        executor.execute(() -> {
+            try {
+                int delivered = deliverDueAlarms(appContext, alarmId, message);
+                if (intent.hasExtra("alarm_deadline")) {
+                    AlarmTelemetry.getInstance(appContext).record(
+                            intent.getLongExtra("alarm_deadline", receivedWall),
+                            intent.getLongExtra("armed_wall", receivedWall),
+                            intent.getLongExtra("armed_elapsed", receivedElapsed),
+                            receivedWall, receivedElapsed,
+                            intent.getStringExtra("alarm_mode"), delivered);
+                }
+            } catch (RuntimeException e) {
+                Log.e("AlarmReceiver", "Failed to deliver alarms", e);
+            } finally {
+                // The queue journals in the background; keep the process alive until it is on disk
+                AlarmRegistry.getInstance(appContext).awaitWrites();
+                result.finish();
+            }
+        });
+    }
+
+    /**
+     * Notifies every due alarm and queues its Firestore write.
+     *
+     * @param context the application context
+     * @param alarmId the alarm ID carried by the broadcast
+     * @param message the notification text carried by the broadcast
+     * @return the number of alarms delivered
+     */
+    private static int deliverDueAlarms(Context context, String alarmId, String message) {
+        AlarmRegistry registry = AlarmRegistry.getInstance(context);
+        List<AlarmQueue.Entry> due = registry.takeDue(System.currentTimeMillis() + AlarmScheduler.COALESCE_WINDOW_MS);
+
+        boolean grouped = due.size() > 1;
+        boolean deliveredBroadcastAlarm = false;
+        List<String> lines = new ArrayList<>();
+        for (AlarmQueue.Entry entry : due) {
+            String dueId = entry.alarm.getAlarmId();
+            String line = entry.alarm.getBookName() + ": " + entry.alarm.getMessage();
+            notify(context, entry, line, grouped);
+            lines.add(line);
+
+            AlarmQueue.Entry next = AlarmRecurrence.isRecurring(entry.alarm) ? registry.get(dueId) : null;
+            if (next != null) {
+                // Recurring alarms keep their document and move on to the next occurrence
+                AlarmWriteWorker.enqueueDeadline(context, entry.uid, dueId, next.alarm.getDeadlineMillis());
+            } else {
+                AlarmWriteWorker.enqueueDelete(context, entry.uid, dueId);
+            }
+            deliveredBroadcastAlarm |= dueId.equals(alarmId);
+        }
+        if (grouped) {
+            notifySummary(context, lines);
         }
 
-        String message = intent.getStringExtra("alarm_message");
-        String alarmId = intent.getStringExtra("alarm_id");
+        if (alarmId != null && !deliveredBroadcastAlarm && !registry.isArmed(alarmId)) {
+            // Alarm registered individually by an older version of the app
+            notify(context, null, alarmId.hashCode(), message, false);
+            String uid = context.getSharedPreferences("BookTrackPrefs", Context.MODE_PRIVATE)
+                    .getString("uid", null);
+            if (uid != null) {
+                AlarmWriteWorker.enqueueDelete(context, uid, alarmId);
+            } else {
+                Log.w("AlarmReceiver", "User not logged in for alarm: " + alarmId);
+            }
+        }
+        return due.size();
+    }
+
+    /**
+     * Posts the notification of a queued alarm, if notifications are permitted.
+     *
+     * @param context the application context
+     * @param entry   the delivered alarm
+     * @param message the notification text
+     * @param grouped whether the notification belongs to a group of alarms delivered together
+     */
+    private static void notify(Context context, AlarmQueue.Entry entry, String message, boolean grouped) {
+        notify(context, entry, entry.requestCode, message, grouped);
+    }
 
+    /**
+     * Posts the notification of one alarm, if notifications are permitted.
+     * Grouped notifications stay silent; their summary alerts once for the whole group.
+     * One-time alarms get snooze actions handled by {@link SnoozeReceiver}; recurring alarms
+     * are already queued for their next occurrence and get none.
+     *
+     * @param context        the application context
+     * @param entry          the delivered alarm, or null for alarms not from the queue
+     * @param notificationId the alarm's notification ID, so simultaneous alarms do not replace each other
+     * @param message        the notification text
+     * @param grouped        whether the notification belongs to a group of alarms delivered together
+     */
+    private static void notify(Context context, AlarmQueue.Entry entry, int notificationId,
+                               String message, boolean grouped) {
         NotificationCompat.Builder builder = new NotificationCompat.Builder(context, "timer_channel_id")
                 .setSmallIcon(R.mipmap.ic_logo_round)
                 .setContentTitle("BookTrack Alarm")
                 .setContentText(message)
                 .setPriority(NotificationCompat.PRIORITY_HIGH)
                 .setAutoCancel(true);
+        if (entry != null && !AlarmRecurrence.isRecurring(entry.alarm)) {
+            builder.addAction(0, "10 min",
+                            SnoozeReceiver.actionIntent(context, entry, SnoozeReceiver.ACTION_SNOOZE_10_MIN))
+                    .addAction(0, "1 h",
+                            SnoozeReceiver.actionIntent(context, entry, SnoozeReceiver.ACTION_SNOOZE_1_HOUR))
+                    .addAction(0, "Tomorrow",
+                            SnoozeReceiver.actionIntent(context, entry, SnoozeReceiver.ACTION_SNOOZE_TOMORROW));
+        }
+        if (grouped) {
+            builder.setGroup(GROUP_KEY)
+                    .setGroupAlertBehavior(NotificationCompat.GROUP_ALERT_SUMMARY);
+        }
+        post(context, notificationId, builder);
+    }
 
-        NotificationManager manager = (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
-        if (manager != null) manager.notify(1001, builder.build());
-
-        FirebaseApp.initializeApp(context);
-        SharedPreferences prefs = context.getSharedPreferences("BookTrackPrefs", Context.MODE_PRIVATE);
-        String uid = prefs.getString("uid", null);
-
-        if (uid != null && alarmId != null) {
-            FirebaseFirestore.getInstance()
-                    .collection("users")
-                    .document(uid)
-                    .collection("alarms")
-                    .document(alarmId)
-                    .delete()
-                    .addOnSuccessListener(aVoid ->
-                            Log.d("AlarmReceiver", "Deleted alarm: " + alarmId))
-                    .addOnFailureListener(e ->
-                            Log.e("AlarmReceiver", "Failed to delete alarm", e));
-        } else {
-            Log.w("AlarmReceiver", "User not logged in or alarmId is null");
+    /**
+     * Posts the summary of a group of alarms delivered together, listing each of them.
+     *
+     * @param context the application context
+     * @param lines   the texts of the grouped notifications
+     */
+    private static void notifySummary(Context context, List<String> lines) {
+        NotificationCompat.InboxStyle inbox = new NotificationCompat.InboxStyle()
+                .setSummaryText(lines.size() + " reading alarms");
+        for (String line : lines) {
+            inbox.addLine(line);
+        }
+
+        NotificationCompat.Builder builder = new NotificationCompat.Builder(context, "timer_channel_id")
+                .setSmallIcon(R.mipmap.ic_logo_round)
+                .setContentTitle("BookTrack Alarms")
+                .setContentText(lines.size() + " reading alarms")
+                .setStyle(inbox)
+                .setPriority(NotificationCompat.PRIORITY_HIGH)
+                .setGroup(GROUP_KEY)
+                .setGroupSummary(true)
+                .setGroupAlertBehavior(NotificationCompat.GROUP_ALERT_SUMMARY)
+                .setAutoCancel(true);
+        post(context, SUMMARY_NOTIFICATION_ID, builder);
+    }
+
+    /**
+     * Posts a notification, if notifications are permitted.
+     *
+     * @param context        the application context
+     * @param notificationId the notification ID
+     * @param builder        the notification to post
+     */
+    private static void post(Context context, int notificationId, NotificationCompat.Builder builder) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU &&
+                ContextCompat.checkSelfPermission(context, Manifest.permission.POST_NOTIFICATIONS)
+                        != PackageManager.PERMISSION_GRANTED) {
+            Log.w("AlarmReceiver", "Notification permission not granted");
+            return;
         }
+
+        NotificationManager manager = (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
+        if (manager != null) manager.notify(notificationId, builder.build());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,147 @@
+package com.example.booktrack;
+
+import java.util.Calendar;
+
+/**
+ * Recurrence rules of reading alarms and the computation of their occurrences.
+ * A recurring alarm is stored as a single {@link AlarmItem} whose deadline is its next
+ * occurrence; after each fire the following occurrence is computed from the rule and
+ * the alarm is scheduled again. Storage and armed system alarms therefore stay constant
+ * however long a series runs.
+ *
+ * <p>Occurrences keep the local time of day of the first occurrence across daylight
+ * saving changes, because they are computed with calendar days rather than fixed
+ * 24-hour steps.</p>
+ *
+ * @author BookTrack Development Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class AlarmRecurrence {
+
+    /** One-time alarm */
+    public static final String NONE = "NONE";
+
+    /** Every day */
+    public static final String DAILY = "DAILY";
+
+    /** Monday to Friday */
+    public static final String WEEKDAYS = "WEEKDAYS";
+
+    /** Every week on the weekday of the first occurrence */
+    public static final String WEEKLY = "WEEKLY";
+
+    /** Every {@link AlarmItem#getIntervalDays()} days */
+    public static final String INTERVAL = "INTERVAL";
+
+    /** Rules in the order they are offered in the repeat spinner */
+    public static final String[] RULES = {NONE, DAILY, WEEKDAYS, WEEKLY, INTERVAL};
+
+    /** Spinner labels matching {@link #RULES} */
+    public static final String[] LABELS = {"Does not repeat", "Every day", "Every weekday", "Every week", "Every few days"};
+
+    /**
+     * Not instantiable; all members are static.
+     */
+    private AlarmRecurrence() {}
+
+    /**
+     * Returns whether an alarm repeats.
+     *
+     * @param alarm the alarm
+     * @return true if the alarm has a recurrence rule other than {@link #NONE}
+     */
+    public static boolean isRecurring(AlarmItem alarm) {
+        String rule = alarm.getRecurrence();
+        return rule != null && !rule.equals(NONE);
+    }
+
+    /**
+     * Returns the first occurrence of a series that is later than the given time.
+     * Occurrences are {@code start} and the times following it by the rule's step; for
+     * {@link #WEEKDAYS} they are the weekdays on or after {@code start}.
+     *
+     * @param rule         the recurrence rule
+     * @param intervalDays the interval for {@link #INTERVAL}; values below 1 are treated as 1
+     * @param start        any occurrence of the series, e.g. the one that just fired
+     * @param after        the time the result must be later than
+     * @return the next occurrence in milliseconds, or {@code start} for one-time alarms
+     */
+    public static long nextOccurrence(String rule, int intervalDays, long start, long after) {
+        if (rule == null || rule.equals(NONE)) return start;
+
+        int step = stepDays(rule, intervalDays);
+        Calendar next = Calendar.getInstance();
+        next.setTimeInMillis(start);
+
+        // Skip whole periods at once when the series is far behind, e.g. after a long power-off
+        long behindDays = (after - start) / (24L * 60 * 60 * 1000);
+        if (behindDays > step) {
+            next.add(Calendar.DAY_OF_YEAR, (int) ((behindDays / step - 1) * step));
+        }
+
+        while (next.getTimeInMillis() <= after || !matches(rule, next)) {
+            next.add(Calendar.DAY_OF_YEAR, step);
+        }
+        return next.getTimeInMillis();
+    }
+
+    /**
+     * Returns the next occurrence of an alarm later than the given time.
+     *
+     * @param alarm the alarm; its deadline is taken as an occurrence of the series
+     * @param after the time the result must be later than
+     * @return the next occurrence in milliseconds, or the alarm's deadline for one-time alarms
+     */
+    public static long nextOccurrence(AlarmItem alarm, long after) {
+        return nextOccurrence(alarm.getRecurrence(), alarm.getIntervalDays(), alarm.getDeadlineMillis(), after);
+    }
+
+    /**
+     * Returns a short label for an alarm's rule, for display in lists.
+     *
+     * @param alarm the alarm
+     * @return the label, or null for one-time alarms
+     */
+    public static String labelOf(AlarmItem alarm) {
+        if (!isRecurring(alarm)) return null;
+        if (INTERVAL.equals(alarm.getRecurrence())) {
+            return "Every " + Math.max(1, alarm.getIntervalDays()) + " days";
+        }
+        for (int i = 0; i < RULES.length; i++) {
+            if (RULES[i].equals(alarm.getRecurrence())) return LABELS[i];
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of calendar days between candidate occurrences of a rule.
+     *
+     * @param rule         the recurrence rule
+     * @param intervalDays the interval for {@link #INTERVAL}
+     * @return the step in days
+     */
+    private static int stepDays(String rule, int intervalDays) {
+        switch (rule) {
+            case WEEKLY:
+                return 7;
+            case INTERVAL:
+                return Math.max(1, intervalDays);
+            default:
+                return 1;
+        }
+    }
+
+    /**
+     * Returns whether a candidate day is an occurrence of the rule.
+     *
+     * @param rule the recurrence rule
+     * @param day  the candidate occurrence
+     * @return false only for weekend days of a {@link #WEEKDAYS} series
+     */
+    private static boolean matches(String rule, Calendar day) {
+        if (!WEEKDAYS.equals(rule)) return true;
+        int weekday = day.get(Calendar.DAY_OF_WEEK);
+        return weekday != Calendar.SATURDAY && weekday != Calendar.SUNDAY;
+    }
+}
@@ -0,0 +1,331 @@
+package com.example.booktrack;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Single entry point for creating, cancelling and restoring reading alarms.
+ * Screens, receivers and background jobs go through this registry instead of talking
+ * to AlarmManager directly, so every path agrees on which alarms exist and how they
+ * are identified.
+ *
+ * <p>Every alarm is assigned a request code that is unique among all alarms and stays
+ * the same for the alarm's lifetime. Codes come from a persisted, monotonically increasing
+ * counter, so unlike hashes of alarm IDs or truncated deadlines they never collide. The
+ * code identifies the alarm's notification and any PendingIntents created for it.</p>
+ *
+ * <p>Key features include:
+ * <ul>
+ *   <li>Scheduling and cancelling single alarms</li>
+ *   <li>Bulk scheduling, replacement of a user's whole alarm set and cancellation of all alarms</li>
+ *   <li>Delivery of due alarms with re-arming of the next one</li>
+ *   <li>Rescheduling of recurring alarms for their next occurrence</li>
+ *   <li>Snoozing of delivered alarms</li>
+ *   <li>Read access to the armed alarms for diagnostics</li>
+ * </ul></p>
+ *
+ * <p>Alarms are kept in the {@link AlarmQueue}; {@link AlarmScheduler} registers its head
+ * with the system whenever the earliest alarm changes.</p>
+ *
+ * @author BookTrack Development Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class AlarmRegistry {
+
+    /** First request code handed out; keeps clear of the app's fixed notification IDs */
+    private static final int FIRST_REQUEST_CODE = 10000;
+
+    /** Preference key holding the next request code to hand out */
+    private static final String KEY_NEXT_REQUEST_CODE = "next_alarm_request_code";
+
+    /** Process-wide instance */
+    private static AlarmRegistry instance;
+
+    /** Application context used to arm alarms */
+    private final Context context;
+
+    /** The on-device alarm queue */
+    private final AlarmQueue queue;
+
+    /** Preferences holding the session UID and the request code counter */
+    private final SharedPreferences prefs;
+
+    /**
+     * Returns the process-wide registry.
+     *
+     * @param context any context; only its application context is retained
+     * @return the shared AlarmRegistry instance
+     */
+    public static synchronized AlarmRegistry getInstance(Context context) {
+        if (instance == null) {
+            instance = new AlarmRegistry(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Creates the registry and assigns request codes to alarms journaled before codes existed.
+     *
+     * @param context the application context
+     */
+    private AlarmRegistry(Context context) {
+        this.context = context;
+        this.queue = AlarmQueue.getInstance(context);
+        this.prefs = context.getSharedPreferences("BookTrackPrefs", Context.MODE_PRIVATE);
+
+        for (AlarmQueue.Entry entry : queue.entries()) {
+            if (entry.requestCode == 0) {
+                queue.offer(entry.uid, entry.alarm, nextRequestCode());
+            }
+        }
+    }
+
+    /**
+     * Schedules an alarm for the signed-in user, or moves it if it is already scheduled.
+     *
+     * @param alarm the alarm; expired alarms are ignored
+     */
+    public void schedule(AlarmItem alarm) {
+        scheduleAll(Collections.singletonList(alarm));
+    }
+
+    /**
+     * Schedules several alarms for the signed-in user, arming the system alarm at most once.
+     * Expired one-time alarms are skipped; recurring ones are scheduled for their next occurrence.
+     *
+     * @param alarms the alarms to schedule
+     */
+    public synchronized void scheduleAll(List<AlarmItem> alarms) {
+        String uid = prefs.getString("uid", null);
+        if (uid == null) {
+            Log.w("AlarmRegistry", "No user session, alarms not scheduled");
+            return;
+        }
+
+        AlarmQueue.Entry headBefore = queue.peek();
+        AlarmQueue.Entry secondBefore = queue.peekSecond();
+        offerAll(uid, alarms);
+        rearmIfChanged(headBefore, secondBefore);
+    }
+
+    /**
+     * Replaces all alarms of a user with the given ones: alarms not in the list are cancelled,
+     * the others are scheduled or moved. Used to reconcile the registry with Firestore.
+     *
+     * <p>Alarms with a local change not yet written to Firestore, such as a snooze or a
+     * deletion waiting for network, are left as they are: their documents are out of date.</p>
+     *
+     * @param uid           the ID of the user
+     * @param alarms        the user's complete set of alarms
+     * @param pendingWrites IDs of the alarms whose local change is still being written
+     */
+    public synchronized void rescheduleAll(String uid, List<AlarmItem> alarms, Set<String> pendingWrites) {
+        Set<String> keep = new HashSet<>(pendingWrites);
+        List<AlarmItem> synced = new ArrayList<>();
+        for (AlarmItem alarm : alarms) {
+            if (alarm == null || pendingWrites.contains(alarm.getAlarmId())) continue;
+            keep.add(alarm.getAlarmId());
+            synced.add(alarm);
+        }
+
+        AlarmQueue.Entry headBefore = queue.peek();
+        AlarmQueue.Entry secondBefore = queue.peekSecond();
+        for (AlarmQueue.Entry entry : queue.entries()) {
+            if (uid.equals(entry.uid) && !keep.contains(entry.alarm.getAlarmId())) {
+                queue.remove(entry.alarm.getAlarmId());
+            }
+        }
+        offerAll(uid, synced);
+        rearmIfChanged(headBefore, secondBefore);
+    }
+
+    /**
+     * Queues a delivered alarm again for a later deadline, keeping its ID and request code.
+     * Used by {@link SnoozeReceiver}; unlike {@link #schedule(AlarmItem)} it does not depend on
+     * the alarm still being queued or on the signed-in user.
+     *
+     * @param uid            the ID of the user owning the alarm
+     * @param alarm          the alarm as it was delivered
+     * @param requestCode    the request code the alarm was delivered with
+     * @param deadlineMillis the new deadline
+     */
+    public synchronized void snooze(String uid, AlarmItem alarm, int requestCode, long deadlineMillis) {
+        AlarmItem snoozed = new AlarmItem(alarm);
+        snoozed.setDeadlineMillis(deadlineMillis);
+
+        AlarmQueue.Entry headBefore = queue.peek();
+        AlarmQueue.Entry secondBefore = queue.peekSecond();
+        queue.offer(uid, snoozed, requestCode != 0 ? requestCode : nextRequestCode());
+        rearmIfChanged(headBefore, secondBefore);
+    }
+
+    /**
+     * Updates the book name of every queued alarm of a book, so their notifications show
+     * the new name.
+     *
+     * @param bookId   the Firestore document ID of the book
+     * @param bookName the new name of the book
+     */
+    public synchronized void renameBook(String bookId, String bookName) {
+        if (bookId == null) return;
+
+        AlarmQueue.Entry headBefore = queue.peek();
+        AlarmQueue.Entry secondBefore = queue.peekSecond();
+        for (AlarmQueue.Entry entry : queue.entries()) {
+            if (bookId.equals(entry.alarm.getBookId()) && !Objects.equals(bookName, entry.alarm.getBookName())) {
+                AlarmItem renamed = new AlarmItem(entry.alarm);
+                renamed.setBookName(bookName);
+                queue.offer(entry.uid, renamed, entry.requestCode);
+            }
+        }
+        // The armed head carries the notification text, so it is re-armed if it was renamed
+        rearmIfChanged(headBefore, secondBefore);
+    }
+
+    /**
+     * Cancels an alarm. Unknown alarm IDs are ignored.
+     *
+     * @param alarmId the ID of the alarm
+     */
+    public synchronized void cancel(String alarmId) {
+        if (alarmId == null) return;
+
+        AlarmQueue.Entry headBefore = queue.peek();
+        AlarmQueue.Entry secondBefore = queue.peekSecond();
+        queue.remove(alarmId);
+        rearmIfChanged(headBefore, secondBefore);
+        AlarmScheduler.cancelLegacy(context, alarmId);
+
+        Log.i("AlarmRegistry", "Alarm cancelled: " + alarmId);
+    }
+
+    /**
+     * Cancels every alarm of every user, e.g. when a different user signs in on this device.
+     */
+    public synchronized void cancelAll() {
+        List<AlarmQueue.Entry> entries = queue.entries();
+        for (AlarmQueue.Entry entry : entries) {
+            queue.remove(entry.alarm.getAlarmId());
+        }
+        AlarmScheduler.armNext(context);
+
+        Log.i("AlarmRegistry", "Cancelled " + entries.size() + " alarms");
+    }
+
+    /**
+     * Removes every alarm due at the given time and arms the next pending one.
+     * Recurring alarms are scheduled again right away for their next occurrence,
+     * keeping their request code; {@link #get(String)} returns the rescheduled entry.
+     *
+     * @param now the current wall-clock time in milliseconds
+     * @return the due entries as they were when due, earliest first
+     */
+    public synchronized List<AlarmQueue.Entry> takeDue(long now) {
+        List<AlarmQueue.Entry> due = queue.pollDue(now);
+        for (AlarmQueue.Entry entry : due) {
+            if (AlarmRecurrence.isRecurring(entry.alarm)) {
+                AlarmItem next = new AlarmItem(entry.alarm);
+                next.setDeadlineMillis(AlarmRecurrence.nextOccurrence(entry.alarm, now));
+                queue.offer(entry.uid, next, entry.requestCode);
+            }
+        }
+        AlarmScheduler.armNext(context);
+        return due;
+    }
+
+    /**
+     * Returns the scheduled entry of an alarm.
+     *
+     * @param alarmId the ID of the alarm
+     * @return the entry, or null if the alarm is not scheduled
+     */
+    public AlarmQueue.Entry get(String alarmId) {
+        return queue.get(alarmId);
+    }
+
+    /**
+     * Returns whether an alarm is scheduled.
+     *
+     * @param alarmId the ID of the alarm
+     * @return true if the alarm is waiting to fire
+     */
+    public boolean isArmed(String alarmId) {
+        return queue.contains(alarmId);
+    }
+
+    /**
+     * Returns all scheduled alarms, earliest first. Intended for diagnostics.
+     *
+     * @return a snapshot of the armed alarms with their owners and request codes
+     */
+    public List<AlarmQueue.Entry> getArmedAlarms() {
+        List<AlarmQueue.Entry> armed = queue.entries();
+        armed.sort((a, b) -> Long.compare(a.alarm.getDeadlineMillis(), b.alarm.getDeadlineMillis()));
+        return armed;
+    }
+
+    /**
+     * Adds or moves alarms in the queue, keeping the request code of alarms already queued.
+     *
+     * @param uid    the ID of the user owning the alarms
+     * @param alarms the alarms; null, incomplete and expired one-time ones are skipped, recurring
+     *               ones whose deadline passed are moved to their next occurrence
+     */
+    private void offerAll(String uid, List<AlarmItem> alarms) {
+        long now = System.currentTimeMillis();
+        for (AlarmItem alarm : alarms) {
+            if (alarm == null || alarm.getAlarmId() == null) continue;
+            if (alarm.getDeadlineMillis() < now) {
+                if (!AlarmRecurrence.isRecurring(alarm)) continue;
+                alarm = new AlarmItem(alarm);
+                alarm.setDeadlineMillis(AlarmRecurrence.nextOccurrence(alarm, now));
+            }
+
+            AlarmQueue.Entry existing = queue.get(alarm.getAlarmId());
+            queue.offer(uid, alarm, existing != null ? existing.requestCode : nextRequestCode());
+        }
+    }
+
+    /**
+     * Arms the system alarm again if the earliest or second earliest queued alarm changed;
+     * the latter bounds the delivery window of the earliest.
+     *
+     * @param headBefore   the queue head before the change
+     * @param secondBefore the second earliest entry before the change
+     */
+    private void rearmIfChanged(AlarmQueue.Entry headBefore, AlarmQueue.Entry secondBefore) {
+        if (queue.peek() != headBefore || queue.peekSecond() != secondBefore) {
+            AlarmScheduler.armNext(context);
+        }
+    }
+
+    /**
+     * Blocks until every change made so far is in the on-device journal. Must not be called
+     * on the main thread; receivers call it before finishing.
+     */
+    public void awaitWrites() {
+        queue.awaitWrites();
+    }
+
+    /**
+     * Hands out the next request code and persists the counter in the background. The
+     * in-memory preferences are updated at once, so the next call sees the new value.
+     *
+     * @return a request code not used by any other alarm
+     */
+    private int nextRequestCode() {
+        int code = prefs.getInt(KEY_NEXT_REQUEST_CODE, FIRST_REQUEST_CODE);
+        int next = code == Integer.MAX_VALUE ? FIRST_REQUEST_CODE : code + 1;
+        prefs.edit().putInt(KEY_NEXT_REQUEST_CODE, next).apply();
+        return code;
+    }
+}
@@ -5,31 +5,34 @@ import android.app.PendingIntent;
 import android.content.Context;
 import android.content.Intent;
 import android.os.Build;
+import android.os.SystemClock;
 import android.util.Log;
 
 /**
- * Utility class for scheduling reading alarms using the Android AlarmManager.
- * This class provides a centralized interface for scheduling precise, wake-capable
- * alarms that integrate with the BookTrack notification system.
+ * Utility class arming reading alarms with the Android AlarmManager.
+ * This class is the only code talking to AlarmManager for reading alarms; the rest of the
+ * app schedules and cancels alarms through {@link AlarmRegistry}.
  *
- * <p>The AlarmScheduler handles the complexities of modern Android alarm scheduling,
- * including API level compatibility, exact alarm permissions, and battery optimization
- * considerations. It ensures that reading reminders are delivered reliably even when
- * the device is in idle or doze mode.</p>
+ * <p>Pending alarms live in the on-device {@link AlarmQueue}; only the earliest one is
+ * registered with the system AlarmManager, through a single PendingIntent. When it fires,
+ * {@link AlarmReceiver} takes every due alarm from the registry, which calls
+ * {@link #armNext(Context)} to register the next one. Scheduling therefore costs O(log n)
+ * locally and one system registration, however many alarms the user has.</p>
  *
  * <p>Key features include:
  * <ul>
  *   <li>Exact alarm scheduling with wake-up capability for reliable delivery</li>
- *   <li>Android 12+ compatibility with exact alarm permission checking</li>
- *   <li>Automatic validation of alarm data and expiration checking</li>
+ *   <li>Android 12+ compatibility with a windowed fallback when exact alarms are not permitted</li>
+ *   <li>Per-alarm precision: exact, windowed or inexact delivery</li>
+ *   <li>Earliest-only arming backed by a persistent priority queue</li>
  *   <li>Integration with AlarmReceiver for notification handling</li>
  *   <li>Comprehensive error handling and logging for debugging</li>
  *   <li>Battery optimization bypass for critical reading reminders</li>
  * </ul></p>
  *
- * <p>The scheduler uses {@code setExactAndAllowWhileIdle} to ensure alarms trigger
- * precisely at the scheduled time, even when the device is in power-saving modes.
- * This is essential for reading habit maintenance and user engagement.</p>
+ * <p>Exact alarms use {@code setExactAndAllowWhileIdle} to trigger precisely at the
+ * scheduled time, even when the device is in power-saving modes. Alarms that tolerate
+ * some delay are armed with a window so the system can batch them with other wake-ups.</p>
  *
  * @author BookTrack Development Team
  * @version 1.0
@@ -37,85 +40,145 @@ import android.util.Log;
  */
 public class AlarmScheduler {
 
+    /** Request code of the single PendingIntent that wakes {@link AlarmReceiver} for the queue head */
+    private static final int HEAD_REQUEST_CODE = 0;
+
     /**
-     * Schedules a reading alarm using the Android AlarmManager system.
-     * This method creates a precise, wake-capable alarm that will trigger
-     * the AlarmReceiver at the specified deadline time.
-     *
-     * <p>The scheduling process includes comprehensive validation and error handling:
-     * <ul>
-     *   <li>Validation of alarm data and expiration checking</li>
-     *   <li>AlarmManager availability verification</li>
-     *   <li>Intent creation with alarm metadata for the AlarmReceiver</li>
-     *   <li>PendingIntent configuration with proper flags for security and reliability</li>
-     *   <li>Android 12+ exact alarm permission validation</li>
-     *   <li>Precise alarm scheduling with wake-up capability</li>
-     * </ul></p>
-     *
-     * <p>The method uses {@code setExactAndAllowWhileIdle} with {@code RTC_WAKEUP}
-     * to ensure the alarm fires precisely at the scheduled time and can wake the device
-     * from sleep or idle modes. This guarantees reliable delivery of reading reminders
-     * regardless of device power state.</p>
+     * Coalescing window: alarms due within this many milliseconds of a wake-up are delivered
+     * together with it, as one grouped notification, instead of waking the device again.
+     */
+    static final long COALESCE_WINDOW_MS = 60 * 1000;
+
+    /**
+     * Not instantiable; all members are static.
+     */
+    private AlarmScheduler() {}
+
+    /**
+     * Cancels the PendingIntent of an alarm registered individually by older versions of
+     * the app, which used the hash of the alarm ID as request code.
      *
-     * <p>Security considerations:
-     * <ul>
-     *   <li>Uses {@code FLAG_IMMUTABLE} for PendingIntent security on Android 12+</li>
-     *   <li>Uses {@code FLAG_UPDATE_CURRENT} to handle alarm updates properly</li>
-     *   <li>Validates exact alarm permissions before scheduling on Android 12+</li>
-     * </ul></p>
+     * @param context The application context
+     * @param alarmId The ID of the alarm
+     */
+    static void cancelLegacy(Context context, String alarmId) {
+        AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+        PendingIntent legacy = PendingIntent.getBroadcast(
+                context,
+                alarmId.hashCode(),
+                new Intent(context, AlarmReceiver.class),
+                PendingIntent.FLAG_NO_CREATE | PendingIntent.FLAG_IMMUTABLE
+        );
+        if (alarmManager != null && legacy != null) {
+            alarmManager.cancel(legacy);
+            legacy.cancel();
+        }
+    }
+
+    /**
+     * Registers the head of the {@link AlarmQueue} with the system AlarmManager, replacing
+     * the previously armed alarm, or clears the registration if the queue is empty.
      *
-     * <p>Error conditions handled:
-     * <ul>
-     *   <li>Null or expired alarm objects</li>
-     *   <li>Unavailable AlarmManager service</li>
-     *   <li>Missing exact alarm permissions on Android 12+</li>
-     *   <li>System-level scheduling failures</li>
-     * </ul></p>
+     * <p>Uses {@code FLAG_IMMUTABLE} for PendingIntent security and {@code FLAG_UPDATE_CURRENT}
+     * so the single registration always carries the current head's extras.</p>
      *
-     * @param context The application context required for system service access and Intent creation
-     * @param alarm   The AlarmItem containing scheduling details including deadline, ID, book name, and message.
-     *               Must not be null and must have a future deadline timestamp.
+     * <p>The system call depends on the head's {@link AlarmPrecision}: exact alarms use
+     * {@code setExactAndAllowWhileIdle}, windowed alarms {@code setWindow} and inexact alarms
+     * {@code set}. A window never extends past the latest delivery time of the following
+     * alarm, its deadline plus its own tolerance, but never shrinks below
+     * {@link #COALESCE_WINDOW_MS} either, so only exact alarms are ever armed exactly. If exact
+     * alarms are not permitted on Android 12+, an exact alarm is armed with a short window
+     * instead of being dropped.</p>
      *
-     * @throws SecurityException on Android 12+ if exact alarm permission is not granted
+     * <p>The broadcast carries the deadline, the mode used and the time of arming so that
+     * {@link AlarmReceiver} can record the delivery latency with {@link AlarmTelemetry}.</p>
      *
-     * @see AlarmReceiver
-     * @see AlarmItem
-     * @see AlarmManager#setExactAndAllowWhileIdle(int, long, PendingIntent)
+     * @param context The application context
      */
-    public static void schedule(Context context, AlarmItem alarm) {
-        if (alarm == null || alarm.getDeadlineMillis() < System.currentTimeMillis()) {
-            Log.w("AlarmScheduler", "Skipping expired or null alarm");
-            return;
-        }
-
+    public static void armNext(Context context) {
         AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
         if (alarmManager == null) {
             Log.e("AlarmScheduler", "AlarmManager not available");
             return;
         }
 
+        AlarmQueue queue = AlarmQueue.getInstance(context);
+        AlarmQueue.Entry head = queue.peek();
         Intent intent = new Intent(context, AlarmReceiver.class);
-        intent.putExtra("alarm_id", alarm.getAlarmId());
-        intent.putExtra("alarm_message", alarm.getBookName() + ": " + alarm.getMessage());
+        if (head == null) {
+            PendingIntent armed = PendingIntent.getBroadcast(context, HEAD_REQUEST_CODE, intent,
+                    PendingIntent.FLAG_NO_CREATE | PendingIntent.FLAG_IMMUTABLE);
+            if (armed != null) {
+                alarmManager.cancel(armed);
+                armed.cancel();
+            }
+            Log.i("AlarmScheduler", "No pending alarms");
+            return;
+        }
+
+        long deadline = head.alarm.getDeadlineMillis();
+        String precision = AlarmPrecision.of(head.alarm);
+        long window = AlarmPrecision.toleranceOf(head.alarm);
+        boolean exactAllowed = Build.VERSION.SDK_INT < Build.VERSION_CODES.S || alarmManager.canScheduleExactAlarms();
+        if (precision.equals(AlarmPrecision.EXACT) && !exactAllowed) {
+            Log.w("AlarmScheduler", "Exact alarm not allowed by system, falling back to a window.");
+            window = AlarmPrecision.FALLBACK_WINDOW_MS;
+        }
 
+        // Only one alarm is armed, so the head must fire before the following alarm's latest
+        // delivery time; the receiver then delivers that one too. Windows never shrink below
+        // the coalescing window, and a tolerant head never becomes exact.
+        AlarmQueue.Entry second = queue.peekSecond();
+        boolean bounded = false;
+        if (window > 0 && second != null) {
+            long secondLatest = second.alarm.getDeadlineMillis() + AlarmPrecision.toleranceOf(second.alarm);
+            long bound = Math.max(COALESCE_WINDOW_MS, secondLatest - deadline);
+            if (window > bound) {
+                window = bound;
+                bounded = true;
+            }
+        }
+
+        String mode;
+        if (window == 0 && exactAllowed) {
+            mode = AlarmTelemetry.MODE_EXACT;
+        } else if (window == 0) {
+            mode = AlarmTelemetry.MODE_ALLOW_WHILE_IDLE;
+        } else if (precision.equals(AlarmPrecision.INEXACT) && !bounded) {
+            mode = AlarmTelemetry.MODE_INEXACT;
+        } else {
+            mode = AlarmTelemetry.MODE_WINDOW;
+        }
+
+        // Both clocks at arming time let the receiver measure lateness on the elapsed clock
+        intent.putExtra("alarm_id", head.alarm.getAlarmId());
+        intent.putExtra("alarm_message", head.alarm.getBookName() + ": " + head.alarm.getMessage());
+        intent.putExtra("alarm_deadline", deadline);
+        intent.putExtra("alarm_mode", mode);
+        intent.putExtra("armed_wall", System.currentTimeMillis());
+        intent.putExtra("armed_elapsed", SystemClock.elapsedRealtime());
         PendingIntent pendingIntent = PendingIntent.getBroadcast(
                 context,
-                alarm.getAlarmId().hashCode(),
+                HEAD_REQUEST_CODE,
                 intent,
                 PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE
         );
 
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S && !alarmManager.canScheduleExactAlarms()) {
-            Log.w("AlarmScheduler", "Exact alarm not allowed by system.");
-            return;
+        switch (mode) {
+            case AlarmTelemetry.MODE_EXACT:
+                alarmManager.setExactAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, deadline, pendingIntent);
+                break;
+            case AlarmTelemetry.MODE_ALLOW_WHILE_IDLE:
+                alarmManager.setAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, deadline, pendingIntent);
+                break;
+            case AlarmTelemetry.MODE_INEXACT:
+                alarmManager.set(AlarmManager.RTC_WAKEUP, deadline, pendingIntent);
+                break;
+            default:
+                alarmManager.setWindow(AlarmManager.RTC_WAKEUP, deadline, window, pendingIntent);
+                break;
         }
 
-        alarmManager.setExactAndAllowWhileIdle(
-                AlarmManager.RTC_WAKEUP,
-                alarm.getDeadlineMillis(),
-                pendingIntent
-        );
-
-        Log.i("AlarmScheduler", "Alarm scheduled for: " + alarm.getDeadlineMillis());
+        Log.i("AlarmScheduler", "Next alarm armed for: " + deadline + " (" + mode + ", window " + window + " ms)");
     }
-}
\ No newline at end of file
+}
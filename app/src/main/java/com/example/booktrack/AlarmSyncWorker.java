@@ -0,0 +1,125 @@
+package com.example.booktrack;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background job reconciling the local alarm journal with the user's Firestore alarms.
+ * {@link BootReceiver} restores alarms from the journal without network access and then
+ * queues this job, which runs once a network is available.
+ *
+ * <p>Key features include:
+ * <ul>
+ *   <li>Scheduling of alarms created on another device or missing from the journal</li>
+ *   <li>Removal of journal entries whose Firestore document was deleted</li>
+ *   <li>Alarms with a pending {@link AlarmWriteWorker} write are left to that write, since
+ *       their documents are not current yet (e.g. a snooze made offline before a reboot)</li>
+ *   <li>Network constraint and exponential backoff</li>
+ * </ul></p>
+ *
+ * @author BookTrack Development Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class AlarmSyncWorker extends Worker {
+
+    /** Unique work name; a newer sync request replaces a pending one */
+    private static final String WORK_NAME = "alarm-sync";
+
+    /** Initial backoff delay in seconds; doubled after every failed attempt */
+    private static final long BACKOFF_SECONDS = 30;
+
+    /**
+     * Creates the worker. Instantiated by WorkManager.
+     *
+     * @param context      the application context
+     * @param workerParams parameters of this run
+     */
+    public AlarmSyncWorker(@NonNull Context context, @NonNull WorkerParameters workerParams) {
+        super(context, workerParams);
+    }
+
+    /**
+     * Queues a reconciliation run for when a network is available.
+     *
+     * @param context any context; only its application context is retained
+     */
+    public static void enqueue(Context context) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(AlarmSyncWorker.class)
+                .setConstraints(new Constraints.Builder()
+                        .setRequiredNetworkType(NetworkType.CONNECTED)
+                        .build())
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, BACKOFF_SECONDS, TimeUnit.SECONDS)
+                .build();
+
+        WorkManager.getInstance(context.getApplicationContext())
+                .enqueueUniqueWork(WORK_NAME, ExistingWorkPolicy.REPLACE, request);
+    }
+
+    /**
+     * Fetches the user's alarms and brings the journal in line with them. Runs on a WorkManager thread.
+     *
+     * @return success once reconciled or if no user is signed in, retry on network failures
+     */
+    @NonNull
+    @Override
+    public Result doWork() {
+        Context context = getApplicationContext();
+        SharedPreferences prefs = context.getSharedPreferences("BookTrackPrefs", Context.MODE_PRIVATE);
+        String uid = prefs.getString("uid", null);
+        if (uid == null) {
+            Log.w("AlarmSyncWorker", "No UID stored, skipping alarm sync.");
+            return Result.success();
+        }
+
+        FirebaseApp.initializeApp(context);
+        QuerySnapshot snapshot;
+        Set<String> pendingWrites;
+        try {
+            pendingWrites = AlarmWriteWorker.pendingAlarmIds(context);
+            snapshot = Tasks.await(FirebaseFirestore.getInstance()
+                    .collection("users")
+                    .document(uid)
+                    .collection("alarms")
+                    .get());
+        } catch (Exception e) {
+            Log.w("AlarmSyncWorker", "Failed to load alarms, retrying", e);
+            return Result.retry();
+        }
+
+        long now = System.currentTimeMillis();
+        List<AlarmItem> pending = new ArrayList<>();
+        for (QueryDocumentSnapshot doc : snapshot) {
+            AlarmItem alarm = doc.toObject(AlarmItem.class);
+            // Expired documents are removed by ExpiredAlarmJanitorWorker; missed series move on
+            if (alarm.getDeadlineMillis() >= now || AlarmRecurrence.isRecurring(alarm)) pending.add(alarm);
+        }
+
+        AlarmRegistry.getInstance(context).rescheduleAll(uid, pending, pendingWrites);
+
+        Log.i("AlarmSyncWorker", "Alarm journal synced: " + pending.size() + " alarms");
+        return Result.success();
+    }
+}
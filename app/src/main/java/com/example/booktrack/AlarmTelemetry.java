@@ -0,0 +1,230 @@
+package com.example.booktrack;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * On-device record of how late reading alarms are delivered.
+ * {@link AlarmReceiver} records one sample per wake-up: the deadline of the alarm that was
+ * armed, the wall-clock and elapsed-realtime time the broadcast arrived, and the
+ * AlarmManager mode {@link AlarmScheduler} used to arm it. Nothing leaves the device unless
+ * the user exports the samples from {@link AlarmDiagnostics}.
+ *
+ * <p>Lateness is measured on the elapsed-realtime clock, which keeps counting in deep sleep
+ * and is not affected by the user or the network changing the wall clock. The scheduler
+ * stores both clocks when it arms an alarm, so the expected elapsed time of the deadline is
+ * known when the broadcast arrives.</p>
+ *
+ * <p>Samples are kept in a ring buffer of {@link #MAX_SAMPLES} rows in the
+ * {@code alarm_deliveries} table of {@link BookTrackDatabase}; recording a sample
+ * drops the oldest ones beyond that.</p>
+ *
+ * <p>Key features include:
+ * <ul>
+ *   <li>Constant-size storage, whatever the number of alarms delivered</li>
+ *   <li>p50, p95 and p99 lateness, overall and per arming mode</li>
+ *   <li>Wake-ups per day</li>
+ *   <li>CSV export of the raw samples</li>
+ * </ul></p>
+ *
+ * @author BookTrack Development Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class AlarmTelemetry {
+
+    /** Armed with {@code setExactAndAllowWhileIdle} */
+    public static final String MODE_EXACT = "EXACT";
+
+    /** Armed with {@code setAndAllowWhileIdle} because exact alarms were not permitted */
+    public static final String MODE_ALLOW_WHILE_IDLE = "ALLOW_WHILE_IDLE";
+
+    /** Armed with {@code setWindow} */
+    public static final String MODE_WINDOW = "WINDOW";
+
+    /** Armed with {@code set} */
+    public static final String MODE_INEXACT = "INEXACT";
+
+    /** Number of samples kept; older ones are overwritten */
+    private static final int MAX_SAMPLES = 1000;
+
+    /** Length of a day in milliseconds */
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+
+    /** Process-wide instance */
+    private static AlarmTelemetry instance;
+
+    /** Database helper owning the samples table */
+    private final BookTrackDatabase database;
+
+    /**
+     * Lateness percentiles and wake-up rate computed from the recorded samples.
+     */
+    public static class Summary {
+
+        /** Number of samples the summary is based on */
+        public final int samples;
+
+        /** Median lateness in milliseconds */
+        public final long p50;
+
+        /** 95th percentile lateness in milliseconds */
+        public final long p95;
+
+        /** 99th percentile lateness in milliseconds */
+        public final long p99;
+
+        /** Average number of alarm wake-ups per day over the sampled period */
+        public final double wakeupsPerDay;
+
+        /**
+         * Creates a summary.
+         *
+         * @param samples       the number of samples
+         * @param p50           the median lateness
+         * @param p95           the 95th percentile lateness
+         * @param p99           the 99th percentile lateness
+         * @param wakeupsPerDay the wake-up rate
+         */
+        Summary(int samples, long p50, long p95, long p99, double wakeupsPerDay) {
+            this.samples = samples;
+            this.p50 = p50;
+            this.p95 = p95;
+            this.p99 = p99;
+            this.wakeupsPerDay = wakeupsPerDay;
+        }
+    }
+
+    /**
+     * Returns the process-wide telemetry store.
+     *
+     * @param context any context; only its application context is retained
+     * @return the shared AlarmTelemetry instance
+     */
+    public static synchronized AlarmTelemetry getInstance(Context context) {
+        if (instance == null) {
+            instance = new AlarmTelemetry(BookTrackDatabase.getInstance(context));
+        }
+        return instance;
+    }
+
+    /**
+     * Creates the store.
+     *
+     * @param database the helper owning the samples table
+     */
+    private AlarmTelemetry(BookTrackDatabase database) {
+        this.database = database;
+    }
+
+    /**
+     * Records the delivery of an alarm and drops samples beyond the ring buffer size.
+     *
+     * @param deadlineMillis  the wall-clock deadline the alarm was armed for
+     * @param armedWall       the wall-clock time the alarm was armed
+     * @param armedElapsed    the elapsed-realtime time the alarm was armed
+     * @param receivedWall    the wall-clock time the broadcast arrived
+     * @param receivedElapsed the elapsed-realtime time the broadcast arrived
+     * @param mode            one of the {@code MODE_} constants
+     * @param delivered       the number of alarms delivered by this wake-up
+     */
+    public synchronized void record(long deadlineMillis, long armedWall, long armedElapsed,
+                                    long receivedWall, long receivedElapsed, String mode, int delivered) {
+        long expectedElapsed = armedElapsed + (deadlineMillis - armedWall);
+
+        ContentValues values = new ContentValues();
+        values.put("deadline_millis", deadlineMillis);
+        values.put("received_wall", receivedWall);
+        values.put("received_elapsed", receivedElapsed);
+        values.put("lateness_millis", receivedElapsed - expectedElapsed);
+        values.put("mode", mode);
+        values.put("delivered", delivered);
+
+        SQLiteDatabase db = database.getWritableDatabase();
+        long id = db.insert(BookTrackDatabase.TABLE_ALARM_DELIVERIES, null, values);
+        if (id > MAX_SAMPLES) {
+            db.delete(BookTrackDatabase.TABLE_ALARM_DELIVERIES, "id <= ?",
+                    new String[]{String.valueOf(id - MAX_SAMPLES)});
+        }
+    }
+
+    /**
+     * Summarizes the samples of one arming mode, or all samples.
+     *
+     * @param mode one of the {@code MODE_} constants, or null for all modes
+     * @return the summary; all values are 0 if there are no samples
+     */
+    public synchronized Summary summarize(String mode) {
+        String selection = mode != null ? "mode = ?" : null;
+        String[] args = mode != null ? new String[]{mode} : null;
+
+        long[] lateness;
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        try (Cursor cursor = database.getReadableDatabase().query(
+                BookTrackDatabase.TABLE_ALARM_DELIVERIES,
+                new String[]{"lateness_millis", "received_wall"},
+                selection, args, null, null, null)) {
+            lateness = new long[cursor.getCount()];
+            int i = 0;
+            while (cursor.moveToNext()) {
+                lateness[i++] = cursor.getLong(0);
+                first = Math.min(first, cursor.getLong(1));
+                last = Math.max(last, cursor.getLong(1));
+            }
+        }
+        if (lateness.length == 0) return new Summary(0, 0, 0, 0, 0);
+
+        Arrays.sort(lateness);
+        // A single sample or a burst within one day counts as one day
+        double days = Math.max(1.0, (last - first) / (double) DAY_MS);
+        return new Summary(lateness.length,
+                percentile(lateness, 50), percentile(lateness, 95), percentile(lateness, 99),
+                lateness.length / days);
+    }
+
+    /**
+     * Writes all samples as CSV, oldest first, with a header row.
+     *
+     * @param out the writer to write to; not closed
+     * @throws IOException if writing fails
+     */
+    public synchronized void exportCsv(Writer out) throws IOException {
+        out.write("deadline_millis,received_wall,received_elapsed,lateness_millis,mode,delivered\n");
+        try (Cursor cursor = database.getReadableDatabase().query(
+                BookTrackDatabase.TABLE_ALARM_DELIVERIES,
+                new String[]{"deadline_millis", "received_wall", "received_elapsed",
+                        "lateness_millis", "mode", "delivered"},
+                null, null, null, null, "id")) {
+            while (cursor.moveToNext()) {
+                out.write(cursor.getLong(0) + "," + cursor.getLong(1) + "," + cursor.getLong(2) + ","
+                        + cursor.getLong(3) + "," + cursor.getString(4) + "," + cursor.getInt(5) + "\n");
+            }
+        }
+    }
+
+    /**
+     * Deletes all samples.
+     */
+    public synchronized void clear() {
+        database.getWritableDatabase().delete(BookTrackDatabase.TABLE_ALARM_DELIVERIES, null, null);
+    }
+
+    /**
+     * Returns a percentile of sorted values using the nearest-rank method.
+     *
+     * @param sorted     the values in ascending order; not empty
+     * @param percentile the percentile, 1 to 100
+     * @return the value at that percentile
+     */
+    private static long percentile(long[] sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+}
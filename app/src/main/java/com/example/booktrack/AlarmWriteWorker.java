@@ -0,0 +1,294 @@
+package com.example.booktrack;
+
+import android.app.Notification;
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.content.Context;
+import android.os.Build;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.core.app.NotificationCompat;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.ForegroundInfo;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.OutOfQuotaPolicy;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.SetOptions;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expedited background job writing the outcome of a fired alarm to Firestore.
+ * {@link AlarmReceiver} posts its notifications straight away and hands the server write
+ * to this job, so the broadcast finishes within milliseconds and the write survives the
+ * receiver's process being killed.
+ *
+ * <p>Key features include:
+ * <ul>
+ *   <li>Deletion of one-time alarms and deadline updates of recurring and snoozed ones</li>
+ *   <li>Expedited execution, falling back to regular work when out of quota</li>
+ *   <li>One unique job per alarm; a newer write replaces a pending one</li>
+ *   <li>Lookup of the alarms with a pending write, which {@link AlarmSyncWorker} leaves alone</li>
+ *   <li>Network constraint and exponential backoff</li>
+ * </ul></p>
+ *
+ * @author BookTrack Development Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class AlarmWriteWorker extends Worker {
+
+    /** Tag of every alarm write job */
+    private static final String TAG = "alarm-write";
+
+    /** Prefix of the unique work name and per-alarm tag of a write job, followed by the alarm ID */
+    private static final String ALARM_PREFIX = "alarm-write-";
+
+    /** Input key holding the ID of the user owning the alarm */
+    private static final String KEY_UID = "uid";
+
+    /** Input key holding the ID of the alarm */
+    private static final String KEY_ALARM_ID = "alarm_id";
+
+    /** Input key holding the new deadline, or {@link #DELETE} to delete the alarm */
+    private static final String KEY_DEADLINE = "deadline_millis";
+
+    /** Deadline value requesting deletion of the alarm document */
+    private static final long DELETE = -1;
+
+    /** Initial backoff delay in seconds; doubled after every failed attempt */
+    private static final long BACKOFF_SECONDS = 30;
+
+    /** Notification ID of the foreground notification shown on Android 11 and older */
+    private static final int FOREGROUND_NOTIFICATION_ID = 1002;
+
+    /**
+     * Creates the worker. Instantiated by WorkManager.
+     *
+     * @param context      the application context
+     * @param workerParams parameters of this run
+     */
+    public AlarmWriteWorker(@NonNull Context context, @NonNull WorkerParameters workerParams) {
+        super(context, workerParams);
+    }
+
+    /**
+     * Queues the deletion of an alarm document.
+     *
+     * @param context any context; only its application context is retained
+     * @param uid     the ID of the user owning the alarm
+     * @param alarmId the ID of the alarm
+     */
+    public static void enqueueDelete(Context context, String uid, String alarmId) {
+        enqueue(context, uid, alarmId, DELETE);
+    }
+
+    /**
+     * Queues an update of an alarm document's deadline.
+     *
+     * @param context        any context; only its application context is retained
+     * @param uid            the ID of the user owning the alarm
+     * @param alarmId        the ID of the alarm
+     * @param deadlineMillis the new deadline
+     */
+    public static void enqueueDeadline(Context context, String uid, String alarmId, long deadlineMillis) {
+        enqueue(context, uid, alarmId, deadlineMillis);
+    }
+
+    /**
+     * Returns the alarms whose write has not finished yet. Blocks, so it must be called off
+     * the main thread.
+     *
+     * @param context any context
+     * @return the IDs of the alarms with a queued, running or retrying write
+     * @throws ExecutionException   if WorkManager cannot be queried
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public static Set<String> pendingAlarmIds(Context context) throws ExecutionException, InterruptedException {
+        Set<String> alarmIds = new HashSet<>();
+        for (WorkInfo info : WorkManager.getInstance(context.getApplicationContext())
+                .getWorkInfosByTag(TAG).get()) {
+            if (info.getState().isFinished()) continue;
+            for (String tag : info.getTags()) {
+                if (tag.startsWith(ALARM_PREFIX)) alarmIds.add(tag.substring(ALARM_PREFIX.length()));
+            }
+        }
+        return alarmIds;
+    }
+
+    /**
+     * Applies the write. Runs on a WorkManager thread.
+     *
+     * @return success once written, retry on failures
+     */
+    @NonNull
+    @Override
+    public Result doWork() {
+        String uid = getInputData().getString(KEY_UID);
+        String alarmId = getInputData().getString(KEY_ALARM_ID);
+        long deadline = getInputData().getLong(KEY_DEADLINE, DELETE);
+        if (uid == null || alarmId == null) return Result.failure();
+
+        FirebaseApp.initializeApp(getApplicationContext());
+        DocumentReference alarmRef = FirebaseFirestore.getInstance()
+                .collection("users")
+                .document(uid)
+                .collection("alarms")
+                .document(alarmId);
+
+        try {
+            if (deadline == DELETE) {
+                Tasks.await(alarmRef.delete());
+                Log.d("AlarmWriteWorker", "Deleted alarm: " + alarmId);
+            } else {
+                updateDeadline(alarmRef, alarmId, deadline);
+            }
+            return Result.success();
+        } catch (Exception e) {
+            Log.w("AlarmWriteWorker", "Failed to write alarm " + alarmId + ", retrying", e);
+            return Result.retry();
+        }
+    }
+
+    /**
+     * Moves an alarm document to a new deadline. A one-time alarm snoozed after its document
+     * was already deleted is written again from the on-device queue. The queue does not hold
+     * cover URLs, so the restored document takes them from the book, and it is merged so that
+     * fields the queue does not know are never cleared.
+     *
+     * @param alarmRef the alarm document
+     * @param alarmId  the ID of the alarm
+     * @param deadline the new deadline
+     * @throws ExecutionException   if a write fails
+     * @throws InterruptedException if the worker is stopped while waiting
+     */
+    private void updateDeadline(DocumentReference alarmRef, String alarmId, long deadline)
+            throws ExecutionException, InterruptedException {
+        try {
+            Tasks.await(alarmRef.update("deadlineMillis", deadline));
+            Log.d("AlarmWriteWorker", "Moved alarm " + alarmId + " to " + deadline);
+        } catch (ExecutionException e) {
+            if (!(e.getCause() instanceof FirebaseFirestoreException) ||
+                    ((FirebaseFirestoreException) e.getCause()).getCode() != FirebaseFirestoreException.Code.NOT_FOUND) {
+                throw e;
+            }
+            AlarmQueue.Entry entry = AlarmRegistry.getInstance(getApplicationContext()).get(alarmId);
+            if (entry == null) return;
+            Tasks.await(alarmRef.set(restoredFields(alarmRef, entry.alarm), SetOptions.merge()));
+            Log.d("AlarmWriteWorker", "Restored alarm " + alarmId + " at " + entry.alarm.getDeadlineMillis());
+        }
+    }
+
+    /**
+     * Collects the fields of a queued alarm for restoring its document, with the cover URLs
+     * of its book. URLs that are unknown are left out rather than written as null.
+     *
+     * @param alarmRef the alarm document
+     * @param alarm    the queued alarm
+     * @return the fields to merge into the alarm document
+     * @throws ExecutionException   if the book cannot be read
+     * @throws InterruptedException if the worker is stopped while waiting
+     */
+    private static Map<String, Object> restoredFields(DocumentReference alarmRef, AlarmItem alarm)
+            throws ExecutionException, InterruptedException {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("alarmId", alarm.getAlarmId());
+        fields.put("bookId", alarm.getBookId());
+        fields.put("bookName", alarm.getBookName());
+        fields.put("message", alarm.getMessage());
+        fields.put("deadlineMillis", alarm.getDeadlineMillis());
+        fields.put("recurrence", alarm.getRecurrence());
+        fields.put("intervalDays", alarm.getIntervalDays());
+        fields.put("precision", alarm.getPrecision());
+        fields.put("windowMillis", alarm.getWindowMillis());
+
+        if (alarm.getBookId() != null) {
+            // users/{uid}/alarms/{alarmId} -> users/{uid}/books/{bookId}
+            DocumentSnapshot book = Tasks.await(alarmRef.getParent().getParent()
+                    .collection("books").document(alarm.getBookId()).get());
+            if (book.getString("imageUrl") != null) fields.put("bookImageUrl", book.getString("imageUrl"));
+            if (book.getString("thumbUrl") != null) fields.put("bookThumbUrl", book.getString("thumbUrl"));
+        }
+        return fields;
+    }
+
+    /**
+     * Provides the notification required to run expedited work on Android 11 and older.
+     *
+     * @return the foreground info of this job
+     */
+    @NonNull
+    @Override
+    public ForegroundInfo getForegroundInfo() {
+        Context context = getApplicationContext();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            NotificationManager manager = context.getSystemService(NotificationManager.class);
+            if (manager != null && manager.getNotificationChannel("timer_channel_id") == null) {
+                NotificationChannel channel = new NotificationChannel(
+                        "timer_channel_id",
+                        "Timer Notifications",
+                        NotificationManager.IMPORTANCE_HIGH
+                );
+                channel.setDescription("Notifies when alarm time arrives");
+                manager.createNotificationChannel(channel);
+            }
+        }
+
+        Notification notification = new NotificationCompat.Builder(context, "timer_channel_id")
+                .setSmallIcon(R.mipmap.ic_logo_round)
+                .setContentTitle("BookTrack")
+                .setContentText("Updating your alarms")
+                .setPriority(NotificationCompat.PRIORITY_LOW)
+                .setSilent(true)
+                .build();
+        return new ForegroundInfo(FOREGROUND_NOTIFICATION_ID, notification);
+    }
+
+    /**
+     * Enqueues the expedited write, replacing any pending write for the same alarm.
+     *
+     * @param context  any context
+     * @param uid      the ID of the user owning the alarm
+     * @param alarmId  the ID of the alarm
+     * @param deadline the new deadline, or {@link #DELETE}
+     */
+    private static void enqueue(Context context, String uid, String alarmId, long deadline) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(AlarmWriteWorker.class)
+                .setInputData(new Data.Builder()
+                        .putString(KEY_UID, uid)
+                        .putString(KEY_ALARM_ID, alarmId)
+                        .putLong(KEY_DEADLINE, deadline)
+                        .build())
+                .setExpedited(OutOfQuotaPolicy.RUN_AS_NON_EXPEDITED_WORK_REQUEST)
+                .setConstraints(new Constraints.Builder()
+                        .setRequiredNetworkType(NetworkType.CONNECTED)
+                        .build())
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, BACKOFF_SECONDS, TimeUnit.SECONDS)
+                .addTag(TAG)
+                .addTag(ALARM_PREFIX + alarmId)
+                .build();
+
+        WorkManager.getInstance(context.getApplicationContext())
+                .enqueueUniqueWork(ALARM_PREFIX + alarmId, ExistingWorkPolicy.REPLACE, request);
+    }
+}
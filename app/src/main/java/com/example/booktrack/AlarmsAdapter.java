@@ -8,14 +8,20 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
+import com.bumptech.glide.ListPreloader;
+import com.bumptech.glide.RequestBuilder;
 
 import java.text.SimpleDateFormat;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
 /**
  * RecyclerView adapter for displaying reading alarms and reminders in the BookTrack application.
@@ -29,9 +35,11 @@ import java.util.Locale;
  * <p>Key features include:
  * <ul>
  *   <li>Display of book cover images using Glide for efficient image loading</li>
+ *   <li>Cover preloading for rows about to scroll into view</li>
  *   <li>Formatted date and time display for alarm schedules</li>
  *   <li>Long-click listener support for alarm management operations</li>
  *   <li>Efficient ViewHolder pattern implementation for smooth scrolling</li>
+ *   <li>Background list diffing keyed on the alarm ID</li>
  *   <li>Integration with AlarmItem data model</li>
  * </ul></p>
  *
@@ -39,26 +47,47 @@ import java.util.Locale;
  * @version 1.0
  * @since 1.0
  */
-public class AlarmsAdapter extends RecyclerView.Adapter<AlarmsAdapter.AlarmViewHolder>{
+public class AlarmsAdapter extends ListAdapter<AlarmItem, AlarmsAdapter.AlarmViewHolder>
+        implements ListPreloader.PreloadModelProvider<AlarmItem> {
+
+    /**
+     * Diff callback identifying alarms by alarm ID and comparing every displayed field.
+     * Used by the underlying AsyncListDiffer, which computes diffs on a background thread.
+     */
+    private static final DiffUtil.ItemCallback<AlarmItem> DIFF_CALLBACK = new DiffUtil.ItemCallback<AlarmItem>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull AlarmItem oldItem, @NonNull AlarmItem newItem) {
+            return Objects.equals(oldItem.getAlarmId(), newItem.getAlarmId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull AlarmItem oldItem, @NonNull AlarmItem newItem) {
+            return oldItem.getDeadlineMillis() == newItem.getDeadlineMillis()
+                    && Objects.equals(oldItem.getBookId(), newItem.getBookId())
+                    && Objects.equals(oldItem.getBookName(), newItem.getBookName())
+                    && Objects.equals(oldItem.getBookImageUrl(), newItem.getBookImageUrl())
+                    && Objects.equals(oldItem.getBookThumbUrl(), newItem.getBookThumbUrl())
+                    && Objects.equals(oldItem.getMessage(), newItem.getMessage())
+                    && Objects.equals(oldItem.getRecurrence(), newItem.getRecurrence())
+                    && oldItem.getIntervalDays() == newItem.getIntervalDays();
+        }
+    };
 
     /** Context reference for accessing resources and services */
     private final Context context;
 
-    /** List of alarm items to be displayed in the RecyclerView */
-    private final List<AlarmItem> alarmList;
-
     /** Listener for handling long-click events on alarm items */
     private OnAlarmLongClickListener longClickListener;
 
     /**
-     * Constructs a new AlarmsAdapter with the specified context and alarm list.
+     * Constructs a new AlarmsAdapter with the specified context.
+     * Alarms are supplied with {@link #submitList(List)}; only rows whose alarm changed are rebound.
      *
-     * @param context   The context used for accessing resources and services
-     * @param alarmList The list of AlarmItem objects to be displayed
+     * @param context The context used for accessing resources and services
      */
-    public AlarmsAdapter(Context context, List<AlarmItem> alarmList) {
+    public AlarmsAdapter(Context context) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.alarmList = alarmList;
     }
 
     /**
@@ -97,7 +126,7 @@ public class AlarmsAdapter extends RecyclerView.Adapter<AlarmsAdapter.AlarmViewH
      * <ul>
      *   <li>Setting the book title text</li>
      *   <li>Formatting and displaying the alarm date (yyyy-MM-dd format)</li>
-     *   <li>Formatting and displaying the alarm time (HH:mm format)</li>
+     *   <li>Formatting and displaying the alarm time (HH:mm format) and its repeat rule</li>
      *   <li>Loading the book cover image using Glide</li>
      *   <li>Setting up the long-click listener for alarm management</li>
      * </ul></p>
@@ -107,7 +136,7 @@ public class AlarmsAdapter extends RecyclerView.Adapter<AlarmsAdapter.AlarmViewH
      */
     @Override
     public void onBindViewHolder(@NonNull AlarmViewHolder holder, int position) {
-        AlarmItem alarm = alarmList.get(position);
+        AlarmItem alarm = getItem(position);
 
         holder.bookTitle.setText(alarm.getBookName());
 
@@ -116,10 +145,12 @@ public class AlarmsAdapter extends RecyclerView.Adapter<AlarmsAdapter.AlarmViewH
         SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm", Locale.getDefault());
 
         holder.dateText.setText(dateFormat.format(date));
-        holder.timeText.setText(timeFormat.format(date));
+        String repeat = AlarmRecurrence.labelOf(alarm);
+        holder.timeText.setText(repeat == null
+                ? timeFormat.format(date)
+                : timeFormat.format(date) + " \u00b7 " + repeat);
 
-        Glide.with(context)
-                .load(alarm.getBookImageUrl())
+        ListCovers.load(context, alarm.getBookThumbUrl(), alarm.getBookImageUrl())
                 .into(holder.bookCover);
 
         holder.itemView.setOnLongClickListener(v -> {
@@ -131,13 +162,29 @@ public class AlarmsAdapter extends RecyclerView.Adapter<AlarmsAdapter.AlarmViewH
     }
 
     /**
-     * Returns the total number of alarm items in the data set.
+     * Returns the alarm at the given position so its cover can be preloaded before the row is bound.
+     *
+     * @param position adapter position of a row about to scroll into view
+     * @return the alarm, or an empty list if it has no cover
+     */
+    @NonNull
+    @Override
+    public List<AlarmItem> getPreloadItems(int position) {
+        AlarmItem alarm = getItem(position);
+        if (!CoverUploader.hasCover(alarm.getBookThumbUrl(), alarm.getBookImageUrl())) return Collections.emptyList();
+        return Collections.singletonList(alarm);
+    }
+
+    /**
+     * Builds the same cover request as {@link #onBindViewHolder} so preloaded covers hit the memory cache.
      *
-     * @return The total number of alarm items held by the adapter
+     * @param alarm the alarm whose cover is preloaded
+     * @return the list cover request
      */
+    @Nullable
     @Override
-    public int getItemCount() {
-        return alarmList.size();
+    public RequestBuilder<?> getPreloadRequestBuilder(@NonNull AlarmItem alarm) {
+        return ListCovers.load(context, alarm.getBookThumbUrl(), alarm.getBookImageUrl());
     }
 
     /**
@@ -1,12 +1,8 @@
 package com.example.booktrack;
 
-import android.app.AlarmManager;
-import android.app.PendingIntent;
-import android.content.Context;
 import android.content.Intent;
 import android.graphics.Color;
 import android.os.Bundle;
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -41,14 +37,14 @@ import java.util.Locale;
  * user-created reading alarms.
  *
  * <p>The fragment handles real-time synchronization with Firebase Firestore to display current alarms,
- * automatic cleanup of expired alarms, and provides detailed alarm management through popup dialogs.
+ * hides expired alarms, and provides detailed alarm management through popup dialogs.
  * It integrates with the Android AlarmManager to ensure proper scheduling and cancellation of
  * system-level alarms.</p>
  *
  * <p>Key features include:
  * <ul>
  *   <li>Real-time alarm list display with automatic updates from Firestore</li>
- *   <li>Automatic cleanup of expired alarms to maintain data hygiene</li>
+ *   <li>Hiding of expired alarms until the daily cleanup removes them</li>
  *   <li>Interactive alarm details popup with book information and management options</li>
  *   <li>Integration with system AlarmManager for proper alarm scheduling/cancellation</li>
  *   <li>Navigation to alarm creation interface</li>
@@ -70,9 +66,6 @@ public class AlarmsFragment extends Fragment {
     /** Adapter for managing alarm item display in the RecyclerView */
     private AlarmsAdapter alarmsAdapter;
 
-    /** List containing all active alarm items */
-    private List<AlarmItem> alarmList = new ArrayList<>();
-
     /** Button for navigating to the alarm creation interface */
     private Button addAlarmButton;
 
@@ -105,7 +98,6 @@ public class AlarmsFragment extends Fragment {
      *
      * <p>The initialization process includes:
      * <ul>
-     *   <li>Cleaning up expired alarms from the database</li>
      *   <li>Setting up the RecyclerView with LinearLayoutManager and AlarmsAdapter</li>
      *   <li>Configuring long-click listener for alarm management</li>
      *   <li>Setting up navigation to alarm creation activity</li>
@@ -120,13 +112,13 @@ public class AlarmsFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
 
-        cleanUpExpiredAlarms();
         alarmsRecyclerView = view.findViewById(R.id.alarms_recycler_view);
         alarmsRecyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
-        alarmsAdapter = new AlarmsAdapter(getContext(), alarmList);
+        alarmsAdapter = new AlarmsAdapter(getContext());
         alarmsAdapter.setOnAlarmLongClickListener(alarm -> showAlarmPopup(alarm));
 
         alarmsRecyclerView.setAdapter(alarmsAdapter);
+        alarmsRecyclerView.addOnScrollListener(ListCovers.preloader(this, alarmsAdapter));
         addAlarmButton = view.findViewById(R.id.add_alarm_button);
         addAlarmButton.setOnClickListener(v -> {
             Intent intent = new Intent(requireContext(), CreateAlarm.class);
@@ -148,9 +140,9 @@ public class AlarmsFragment extends Fragment {
      * <ul>
      *   <li>Authenticating the current user</li>
      *   <li>Setting up a real-time Firestore listener on the user's alarm collection</li>
-     *   <li>Converting Firestore documents to AlarmItem objects</li>
+     *   <li>Converting Firestore documents to AlarmItem objects, skipping expired ones</li>
      *   <li>Sorting alarms by deadline for chronological display</li>
-     *   <li>Notifying the adapter of data changes for UI updates</li>
+     *   <li>Submitting the new list to the adapter, which diffs it in the background</li>
      *   <li>Handling listener errors with appropriate user feedback</li>
      * </ul></p>
      *
@@ -172,14 +164,19 @@ public class AlarmsFragment extends Fragment {
                     }
 
                     if (querySnapshot != null) {
-                        alarmList.clear();
+                        long now = System.currentTimeMillis();
+                        List<AlarmItem> alarms = new ArrayList<>();
                         for (QueryDocumentSnapshot doc : querySnapshot) {
                             AlarmItem alarm = doc.toObject(AlarmItem.class);
-                            alarmList.add(alarm);
+                            if (AlarmRecurrence.isRecurring(alarm) && alarm.getDeadlineMillis() < now) {
+                                alarm.setDeadlineMillis(AlarmRecurrence.nextOccurrence(alarm, now));
+                            }
+                            // Expired documents are removed by ExpiredAlarmJanitorWorker
+                            if (alarm.getDeadlineMillis() >= now) alarms.add(alarm);
                         }
 
-                        alarmList.sort((a1, a2) -> Long.compare(a1.getDeadlineMillis(), a2.getDeadlineMillis()));
-                        alarmsAdapter.notifyDataSetChanged();
+                        alarms.sort((a1, a2) -> Long.compare(a1.getDeadlineMillis(), a2.getDeadlineMillis()));
+                        alarmsAdapter.submitList(alarms);
                     }
                 });
     }
@@ -204,46 +201,6 @@ public class AlarmsFragment extends Fragment {
         }
     }
 
-    /**
-     * Performs automatic cleanup of expired alarms from the user's Firestore collection.
-     * This method runs during fragment initialization to maintain database hygiene by
-     * removing alarms that have passed their scheduled time.
-     *
-     * <p>The cleanup process includes:
-     * <ul>
-     *   <li>Retrieving all user alarms from Firestore</li>
-     *   <li>Comparing each alarm's deadline with the current system time</li>
-     *   <li>Deleting expired alarms from the database</li>
-     *   <li>Logging successful deletions and failures for debugging</li>
-     * </ul></p>
-     *
-     * <p>This automatic cleanup ensures that users don't see outdated alarms and
-     * helps maintain optimal database performance by reducing unnecessary data.</p>
-     */
-    private void cleanUpExpiredAlarms() {
-        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
-        if (user == null) return;
-
-        FirebaseFirestore.getInstance()
-                .collection("users")
-                .document(user.getUid())
-                .collection("alarms")
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    long now = System.currentTimeMillis();
-                    for (QueryDocumentSnapshot doc : querySnapshot) {
-                        AlarmItem alarm = doc.toObject(AlarmItem.class);
-                        if (alarm.getDeadlineMillis() < now) {
-                            doc.getReference().delete()
-                                    .addOnSuccessListener(aVoid ->
-                                            Log.d("AlarmsFragment", "Deleted expired alarm: " + alarm.getAlarmId()))
-                                    .addOnFailureListener(e ->
-                                            Log.e("AlarmsFragment", "Failed to delete alarm", e));
-                        }
-                    }
-                });
-    }
-
     /**
      * Displays a detailed popup dialog for alarm management and information viewing.
      * This method creates and shows an AlertDialog containing comprehensive alarm details
@@ -260,7 +217,7 @@ public class AlarmsFragment extends Fragment {
      *
      * <p>The delete functionality performs comprehensive cleanup including:
      * <ul>
-     *   <li>Canceling the corresponding system alarm via AlarmManager</li>
+     *   <li>Removing the alarm from the on-device queue through AlarmRegistry</li>
      *   <li>Removing the alarm data from Firestore</li>
      *   <li>Providing user feedback on operation success/failure</li>
      *   <li>Automatic dialog dismissal after successful deletion</li>
@@ -287,32 +244,19 @@ public class AlarmsFragment extends Fragment {
         msg.setText("Message: " + alarm.getMessage());
 
         SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm", Locale.getDefault());
-        datetime.setText("When: " + sdf.format(new Date(alarm.getDeadlineMillis())));
+        String repeat = AlarmRecurrence.labelOf(alarm);
+        datetime.setText("When: " + sdf.format(new Date(alarm.getDeadlineMillis()))
+                + (repeat == null ? "" : " (" + repeat + ")"));
 
         Glide.with(requireContext())
-                .load(alarm.getBookImageUrl())
+                .load(CoverUploader.urlFor(alarm.getBookThumbUrl(), alarm.getBookImageUrl(), image))
                 .into(image);
 
         cancel.setOnClickListener(v -> dialog.dismiss());
 
         delete.setOnClickListener(v -> {
             FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
-            AlarmManager alarmManager = (AlarmManager) requireContext().getSystemService(Context.ALARM_SERVICE);
-
-            Intent intent = new Intent(requireContext(), AlarmReceiver.class);
-            intent.putExtra("alarm_id", alarm.getAlarmId());
-            intent.putExtra("alarm_message", alarm.getBookName() + ": " + alarm.getMessage());
-
-            PendingIntent pendingIntent = PendingIntent.getBroadcast(
-                    requireContext(),
-                    (int) alarm.getDeadlineMillis(),
-                    intent,
-                    PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE
-            );
-
-            if (alarmManager != null) {
-                alarmManager.cancel(pendingIntent);
-            }
+            AlarmRegistry.getInstance(requireContext()).cancel(alarm.getAlarmId());
             if (user != null) {
                 FirebaseFirestore.getInstance()
                         .collection("users")
@@ -13,8 +13,9 @@ package com.example.booktrack;
  * <ul>
  *   <li>Complete book metadata storage (name, author, genre, page count)</li>
  *   <li>Reading status tracking</li>
- *   <li>Book cover image URL storage</li>
+ *   <li>Book cover image URL storage, with a small thumbnail variant for lists</li>
  *   <li>Firebase Firestore document ID reference</li>
+ *   <li>Last update timestamp for incremental sync with the local book store</li>
  *   <li>Default constructor for Firebase deserialization</li>
  * </ul>
  *
@@ -39,12 +40,24 @@ public class Book {
     /** The total number of pages in the book */
     private int pageCount;
 
-    /** The URL of the book cover image stored in Firebase Storage */
+    /** The page the reader has reached, 0 if no progress was logged */
+    private int currentPage;
+
+    /** The URL of the detail-size book cover image stored in Firebase Storage */
     private String imageUrl;
 
+    /** The URL of the small list thumbnail of the book cover, or null for covers uploaded before thumbnails existed */
+    private String thumbUrl;
+
     /** The Firestore document ID for this book record */
     private String docId;
 
+    /**
+     * Wall-clock time in milliseconds of the last write to this book record.
+     * Used by the local book store to request only documents changed since its last sync.
+     */
+    private long updatedAt;
+
     /**
      * Default no-argument constructor required for Firebase Firestore deserialization.
      * Creates an empty Book object with all fields set to their default values.
@@ -57,6 +70,26 @@ public class Book {
         // Empty constructor required for Firebase
     }
 
+    /**
+     * Copy constructor creating an independent Book with the same field values.
+     * Used where a book must change without mutating an instance that other
+     * components (such as the book index or a list adapter) still hold.
+     *
+     * @param other the book to copy
+     */
+    public Book(Book other) {
+        this.name = other.name;
+        this.author = other.author;
+        this.genre = other.genre;
+        this.situation = other.situation;
+        this.pageCount = other.pageCount;
+        this.currentPage = other.currentPage;
+        this.imageUrl = other.imageUrl;
+        this.thumbUrl = other.thumbUrl;
+        this.docId = other.docId;
+        this.updatedAt = other.updatedAt;
+    }
+
     /**
      * Gets the name/title of the book.
      *
@@ -104,6 +137,15 @@ public class Book {
         return pageCount;
     }
 
+    /**
+     * Gets the page the reader has reached.
+     *
+     * @return the current page, 0 if no progress was logged
+     */
+    public int getCurrentPage() {
+        return currentPage;
+    }
+
     /**
      * Gets the URL of the book cover image.
      *
@@ -113,6 +155,15 @@ public class Book {
         return imageUrl;
     }
 
+    /**
+     * Gets the URL of the small list thumbnail of the book cover.
+     *
+     * @return the Firebase Storage URL of the thumbnail, or null if the book has none
+     */
+    public String getThumbUrl() {
+        return thumbUrl;
+    }
+
     /**
      * Gets the Firestore document ID for this book record.
      *
@@ -122,6 +173,15 @@ public class Book {
         return docId;
     }
 
+    /**
+     * Gets the time of the last write to this book record.
+     *
+     * @return the last update timestamp in milliseconds since epoch, 0 if never set
+     */
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
     /**
      * Sets the name/title of the book.
      *
@@ -169,6 +229,15 @@ public class Book {
         this.pageCount = pageCount;
     }
 
+    /**
+     * Sets the page the reader has reached.
+     *
+     * @param currentPage the current page, between 0 and the page count
+     */
+    public void setCurrentPage(int currentPage) {
+        this.currentPage = currentPage;
+    }
+
     /**
      * Sets the URL of the book cover image.
      *
@@ -178,6 +247,15 @@ public class Book {
         this.imageUrl = imageUrl;
     }
 
+    /**
+     * Sets the URL of the small list thumbnail of the book cover.
+     *
+     * @param thumbUrl the Firebase Storage URL of the thumbnail to set
+     */
+    public void setThumbUrl(String thumbUrl) {
+        this.thumbUrl = thumbUrl;
+    }
+
     /**
      * Sets the Firestore document ID for this book record.
      *
@@ -187,6 +265,15 @@ public class Book {
         this.docId = docId;
     }
 
+    /**
+     * Sets the time of the last write to this book record.
+     *
+     * @param updatedAt the last update timestamp in milliseconds since epoch
+     */
+    public void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     /**
      * Returns a string representation of the book object.
      * This method is commonly used for display purposes in UI components
@@ -11,21 +11,23 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.Button;
 import android.widget.ImageView;
+import android.widget.ProgressBar;
 import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseUser;
-import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.storage.FirebaseStorage;
-import com.google.firebase.storage.StorageReference;
+import com.bumptech.glide.ListPreloader;
+import com.bumptech.glide.RequestBuilder;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * RecyclerView adapter for displaying a list of books in the BookTrack application.
@@ -36,11 +38,14 @@ import java.util.List;
  * <p>Key features include:
  * <ul>
  *   <li>Display of book information in a RecyclerView</li>
- *   <li>Book cover image loading using Glide</li>
+ *   <li>Background list diffing keyed on the book's document ID</li>
+ *   <li>Book cover image loading using Glide, decoded at the row's cover size</li>
+ *   <li>Reading progress bar driven by the book's current page</li>
+ *   <li>Cover preloading for rows about to scroll into view</li>
  *   <li>Long-press to view detailed book information</li>
  *   <li>Click to edit book details</li>
  *   <li>Book deletion with confirmation dialog</li>
- *   <li>Firebase Firestore and Storage integration</li>
+ *   <li>Cascading delete of the book's goals, alarms and cover via {@link BookDeleter}</li>
  *   <li>Image URI handling for previews</li>
  * </ul>
  *
@@ -54,10 +59,32 @@ import java.util.List;
  * @version 1.0
  * @since 1.0
  */
-public class BookAdapter extends RecyclerView.Adapter<BookAdapter.BookViewHolder> {
+public class BookAdapter extends ListAdapter<Book, BookAdapter.BookViewHolder>
+        implements ListPreloader.PreloadModelProvider<Book> {
 
-    /** List of books to be displayed in the RecyclerView */
-    private final List<Book> bookList;
+    /**
+     * Diff callback identifying books by Firestore document ID and comparing every displayed field.
+     * Used by the underlying AsyncListDiffer, which computes diffs on a background thread.
+     */
+    private static final DiffUtil.ItemCallback<Book> DIFF_CALLBACK = new DiffUtil.ItemCallback<Book>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Book oldItem, @NonNull Book newItem) {
+            return Objects.equals(oldItem.getDocId(), newItem.getDocId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Book oldItem, @NonNull Book newItem) {
+            return oldItem.getUpdatedAt() == newItem.getUpdatedAt()
+                    && oldItem.getPageCount() == newItem.getPageCount()
+                    && oldItem.getCurrentPage() == newItem.getCurrentPage()
+                    && Objects.equals(oldItem.getName(), newItem.getName())
+                    && Objects.equals(oldItem.getAuthor(), newItem.getAuthor())
+                    && Objects.equals(oldItem.getGenre(), newItem.getGenre())
+                    && Objects.equals(oldItem.getSituation(), newItem.getSituation())
+                    && Objects.equals(oldItem.getImageUrl(), newItem.getImageUrl())
+                    && Objects.equals(oldItem.getThumbUrl(), newItem.getThumbUrl());
+        }
+    };
 
     /** Context reference for accessing resources and starting activities */
     private final Context context;
@@ -69,14 +96,14 @@ public class BookAdapter extends RecyclerView.Adapter<BookAdapter.BookViewHolder
     public ImageView imagePreview = null;
 
     /**
-     * Constructs a new BookAdapter with the specified context and book list.
+     * Constructs a new BookAdapter with the specified context.
+     * Books are supplied with {@link #submitList(List)}; only rows whose book changed are rebound.
      *
-     * @param context  the context in which the adapter will be used, typically an Activity
-     * @param bookList the list of Book objects to display in the RecyclerView
+     * @param context the context in which the adapter will be used, typically an Activity
      */
-    public BookAdapter(Context context, List<Book> bookList) {
+    public BookAdapter(Context context) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.bookList = bookList;
     }
 
     /**
@@ -105,14 +132,23 @@ public class BookAdapter extends RecyclerView.Adapter<BookAdapter.BookViewHolder
      */
     @Override
     public void onBindViewHolder(@NonNull BookViewHolder holder, int position) {
-        Book book = bookList.get(position);
+        Book book = getItem(position);
         holder.bookName.setText(book.getName());
         holder.bookAuthor.setText(book.getAuthor());
 
-        // Load book cover image using Glide
-        if (book.getImageUrl() != null && !book.getImageUrl().isEmpty()) {
-            Glide.with(holder.itemView.getContext())
-                    .load(book.getImageUrl())
+        if (book.getPageCount() > 0 && book.getCurrentPage() > 0) {
+            holder.progress.setProgress(ReadingPace.percent(book.getCurrentPage(), book.getPageCount()));
+            holder.progressText.setText("Page " + book.getCurrentPage() + " of " + book.getPageCount());
+            holder.progress.setVisibility(View.VISIBLE);
+            holder.progressText.setVisibility(View.VISIBLE);
+        } else {
+            holder.progress.setVisibility(View.GONE);
+            holder.progressText.setVisibility(View.GONE);
+        }
+
+        // Load the book cover variant matching the row's cover size using Glide
+        if (CoverUploader.hasCover(book.getThumbUrl(), book.getImageUrl())) {
+            ListCovers.load(context, book.getThumbUrl(), book.getImageUrl())
                     .placeholder(android.R.color.white)
                     .error(android.R.color.white)
                     .into(holder.bookImage);
@@ -136,19 +172,36 @@ public class BookAdapter extends RecyclerView.Adapter<BookAdapter.BookViewHolder
             intent.putExtra("genre", book.getGenre());
             intent.putExtra("situation", book.getSituation());
             intent.putExtra("pageCount", book.getPageCount());
+            intent.putExtra("currentPage", book.getCurrentPage());
             intent.putExtra("imageUrl", book.getImageUrl());
             context.startActivity(intent);
         });
     }
 
     /**
-     * Returns the total number of items in the data set held by the adapter.
+     * Returns the book at the given position so its cover can be preloaded before the row is bound.
      *
-     * @return the total number of books in the book list
+     * @param position adapter position of a row about to scroll into view
+     * @return the book, or an empty list if it has no cover
      */
+    @NonNull
     @Override
-    public int getItemCount() {
-        return bookList.size();
+    public List<Book> getPreloadItems(int position) {
+        Book book = getItem(position);
+        if (!CoverUploader.hasCover(book.getThumbUrl(), book.getImageUrl())) return Collections.emptyList();
+        return Collections.singletonList(book);
+    }
+
+    /**
+     * Builds the same cover request as {@link #onBindViewHolder} so preloaded covers hit the memory cache.
+     *
+     * @param book the book whose cover is preloaded
+     * @return the list cover request
+     */
+    @Nullable
+    @Override
+    public RequestBuilder<?> getPreloadRequestBuilder(@NonNull Book book) {
+        return ListCovers.load(context, book.getThumbUrl(), book.getImageUrl());
     }
 
     /**
@@ -168,6 +221,12 @@ public class BookAdapter extends RecyclerView.Adapter<BookAdapter.BookViewHolder
         /** TextView for displaying the book author */
         TextView bookAuthor;
 
+        /** ProgressBar showing how far the book has been read */
+        ProgressBar progress;
+
+        /** TextView showing the current page and page count */
+        TextView progressText;
+
         /**
          * Constructs a BookViewHolder and initializes the view references.
          *
@@ -178,6 +237,8 @@ public class BookAdapter extends RecyclerView.Adapter<BookAdapter.BookViewHolder
             bookImage = itemView.findViewById(R.id.book_image);
             bookName = itemView.findViewById(R.id.book_name);
             bookAuthor = itemView.findViewById(R.id.book_author);
+            progress = itemView.findViewById(R.id.book_progress);
+            progressText = itemView.findViewById(R.id.book_progress_text);
         }
     }
 
@@ -213,8 +274,9 @@ public class BookAdapter extends RecyclerView.Adapter<BookAdapter.BookViewHolder
         pageCountText.setText("Pages: " + book.getPageCount());
 
         // Load book cover image
-        if (book.getImageUrl() != null && !book.getImageUrl().isEmpty()) {
-            Glide.with(context).load(book.getImageUrl()).into(imageView);
+        String coverUrl = CoverUploader.urlFor(book.getThumbUrl(), book.getImageUrl(), imageView);
+        if (coverUrl != null) {
+            Glide.with(context).load(coverUrl).into(imageView);
         } else {
             imageView.setImageDrawable(null);
             imageView.setBackgroundColor(Color.parseColor("#eed9c4"));
@@ -241,48 +303,16 @@ public class BookAdapter extends RecyclerView.Adapter<BookAdapter.BookViewHolder
     }
 
     /**
-     * Deletes a book from Firebase Firestore and associated image from Firebase Storage.
-     * This method performs a query to find the book document by name and author,
-     * then deletes both the document and the associated cover image if it exists.
-     * Updates the adapter's data set and UI upon successful deletion.
+     * Deletes a book by its document ID, together with its goals, alarms and cover image.
+     * The work is delegated to {@link BookDeleter}; the list updates through the shared
+     * {@link BookIndex} once the delete is committed.
      *
      * @param book   the Book object to be deleted
      * @param dialog the AlertDialog to dismiss after deletion
      */
     private void deleteBookFromFirestore(Book book, AlertDialog dialog) {
-        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
-        if (user == null) return;
-
-        FirebaseFirestore db = FirebaseFirestore.getInstance();
-        FirebaseStorage storage = FirebaseStorage.getInstance();
-
-        db.collection("users")
-                .document(user.getUid())
-                .collection("books")
-                .whereEqualTo("name", book.getName())
-                .whereEqualTo("author", book.getAuthor())
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    for (DocumentSnapshot doc : querySnapshot.getDocuments()) {
-                        doc.getReference().delete();
-                        bookList.remove(book);
-                        notifyDataSetChanged();
-
-                        // Delete associated image from Firebase Storage
-                        if (book.getImageUrl() != null && !book.getImageUrl().isEmpty()) {
-                            StorageReference photoRef = storage.getReferenceFromUrl(book.getImageUrl());
-                            photoRef.delete()
-                                    .addOnSuccessListener(unused ->
-                                            Toast.makeText(context, "Book deleted", Toast.LENGTH_SHORT).show())
-                                    .addOnFailureListener(e ->
-                                            Toast.makeText(context, "Image deletion failed", Toast.LENGTH_SHORT).show());
-                        } else {
-                            Toast.makeText(context, "Book deleted", Toast.LENGTH_SHORT).show();
-                        }
-                    }
-                })
-                .addOnFailureListener(e ->
-                        Toast.makeText(context, "Failed to delete book", Toast.LENGTH_SHORT).show());
+        BookDeleter.delete(context, book, success -> Toast.makeText(context,
+                success ? "Book deleted" : "Failed to delete book", Toast.LENGTH_SHORT).show());
 
         dialog.dismiss();
     }
@@ -0,0 +1,131 @@
+package com.example.booktrack;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deletes a book together with everything that depends on it.
+ * The book is addressed directly by its Firestore document ID, and its goals and alarms
+ * are found by {@code bookId} and removed in the same atomic {@link WriteBatch}, so no
+ * orphaned goals or alarms are left behind.
+ *
+ * <p>The delete process includes:
+ * <ul>
+ *   <li>Parallel lookup of the goals and alarms referencing the book</li>
+ *   <li>One batch deleting the book, its goals and its alarms</li>
+ *   <li>Cancellation of the deleted alarms' system PendingIntents</li>
+ *   <li>Removal of the book from the shared {@link BookIndex}</li>
+ *   <li>Cancellation of a pending cover upload and deletion of every cover variant from Firebase Storage</li>
+ * </ul></p>
+ *
+ * @author BookTrack Development Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class BookDeleter {
+
+    /** Maximum number of operations Firestore accepts in one batch */
+    private static final int MAX_BATCH_SIZE = 500;
+
+    /**
+     * Deletes the book, its goals and its alarms, then cleans up local and Storage state.
+     *
+     * @param context  context used for alarm cancellation and the book index
+     * @param book     the book to delete; its document ID must be set
+     * @param listener notified on the main thread when the delete succeeded or failed
+     */
+    public static void delete(Context context, Book book, OnDeleteCompleteListener listener) {
+        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+        if (user == null || book.getDocId() == null) {
+            listener.onDeleteComplete(false);
+            return;
+        }
+
+        Context appContext = context.getApplicationContext();
+        FirebaseFirestore db = FirebaseFirestore.getInstance();
+        DocumentReference userRef = db.collection("users").document(user.getUid());
+        DocumentReference bookRef = userRef.collection("books").document(book.getDocId());
+        CollectionReference goals = userRef.collection("goals");
+        CollectionReference alarms = userRef.collection("alarms");
+
+        Task<QuerySnapshot> goalsTask = goals.whereEqualTo("bookId", book.getDocId()).get();
+        Task<QuerySnapshot> alarmsTask = alarms.whereEqualTo("bookId", book.getDocId()).get();
+
+        Tasks.whenAllSuccess(goalsTask, alarmsTask)
+                .onSuccessTask(results -> {
+                    List<DocumentReference> refs = new ArrayList<>();
+                    refs.add(bookRef);
+                    for (DocumentSnapshot doc : goalsTask.getResult().getDocuments()) {
+                        refs.add(doc.getReference());
+                    }
+                    List<AlarmItem> deletedAlarms = new ArrayList<>();
+                    for (DocumentSnapshot doc : alarmsTask.getResult().getDocuments()) {
+                        refs.add(doc.getReference());
+                        AlarmItem alarm = doc.toObject(AlarmItem.class);
+                        if (alarm != null) deletedAlarms.add(alarm);
+                    }
+                    return commitInBatches(db, refs)
+                            .onSuccessTask(unused -> Tasks.forResult(deletedAlarms));
+                })
+                .addOnSuccessListener(deletedAlarms -> {
+                    AlarmRegistry registry = AlarmRegistry.getInstance(appContext);
+                    for (AlarmItem alarm : deletedAlarms) {
+                        registry.cancel(alarm.getAlarmId());
+                    }
+                    BookIndex.getInstance(appContext).removeBook(book.getDocId());
+                    CoverUploadWorker.cancel(appContext, book.getDocId());
+                    CoverUploader.delete(book.getImageUrl(), book.getThumbUrl());
+                    listener.onDeleteComplete(true);
+                })
+                .addOnFailureListener(e -> {
+                    Log.e("BookDeleter", "Failed to delete book " + book.getDocId(), e);
+                    listener.onDeleteComplete(false);
+                });
+    }
+
+    /**
+     * Deletes the given documents. Everything fits in one atomic batch unless a book has
+     * more than {@value #MAX_BATCH_SIZE} dependents; the book itself is always in the first batch.
+     *
+     * @param db   the Firestore instance
+     * @param refs the documents to delete, book first
+     * @return a task completing when every batch has been committed
+     */
+    private static Task<Void> commitInBatches(FirebaseFirestore db, List<DocumentReference> refs) {
+        List<Task<Void>> commits = new ArrayList<>();
+        for (int start = 0; start < refs.size(); start += MAX_BATCH_SIZE) {
+            WriteBatch batch = db.batch();
+            for (DocumentReference ref : refs.subList(start, Math.min(start + MAX_BATCH_SIZE, refs.size()))) {
+                batch.delete(ref);
+            }
+            commits.add(batch.commit());
+        }
+        return Tasks.whenAll(commits);
+    }
+
+    /**
+     * Callback notified when a book delete finishes.
+     */
+    public interface OnDeleteCompleteListener {
+        /**
+         * Called on the main thread once the delete finished.
+         *
+         * @param success true if the book and its dependents were deleted
+         */
+        void onDeleteComplete(boolean success);
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.booktrack;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Propagates changes of a book's name and cover to the goals and alarms that copy them.
+ * Goals and alarms store {@code bookName}, {@code bookImageUrl} and {@code bookThumbUrl}
+ * so lists render without reading the book; this class keeps those copies current.
+ *
+ * <p>Nothing is read or written unless one of the copied fields actually changed. The
+ * dependents are then found by {@code bookId}, documents already holding the new values
+ * are skipped, and the rest are updated in {@link WriteBatch}es of at most
+ * {@value #MAX_BATCH_SIZE} operations.</p>
+ *
+ * <p>Key features include:
+ * <ul>
+ *   <li>Change detection on the denormalized fields only</li>
+ *   <li>Parallel lookup of the goals and alarms referencing the book</li>
+ *   <li>Chunked batch updates, skipping documents already up to date</li>
+ *   <li>Renaming of the book in queued alarms, whose notifications show its name</li>
+ * </ul></p>
+ *
+ * @author BookTrack Development Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class BookFanOut {
+
+    /** Maximum number of operations Firestore accepts in one batch */
+    private static final int MAX_BATCH_SIZE = 500;
+
+    /**
+     * Returns the denormalized fields to propagate after a book was renamed.
+     *
+     * @param oldName the name before the edit
+     * @param newName the name after the edit
+     * @return the changed fields, keyed by their name in goal and alarm documents; empty if unchanged
+     */
+    public static Map<String, Object> nameChanges(String oldName, String newName) {
+        Map<String, Object> changes = new HashMap<>();
+        if (!Objects.equals(oldName, newName)) changes.put("bookName", newName);
+        return changes;
+    }
+
+    /**
+     * Returns the denormalized fields to propagate after a book got a new cover.
+     *
+     * @param imageUrl the URL of the new detail-size cover
+     * @param thumbUrl the URL of the new list thumbnail
+     * @return the fields, keyed by their name in goal and alarm documents
+     */
+    public static Map<String, Object> coverChanges(String imageUrl, String thumbUrl) {
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("bookImageUrl", imageUrl);
+        changes.put("bookThumbUrl", thumbUrl);
+        return changes;
+    }
+
+    /**
+     * Writes changed book fields to every goal and alarm of the book.
+     *
+     * @param context any context; used to rename the book in queued alarms
+     * @param uid     the ID of the user owning the book
+     * @param bookId  the Firestore document ID of the book
+     * @param changes the changed fields from {@link #nameChanges} or {@link #coverChanges}
+     * @return a task completing when every batch has been committed; completes at once
+     *         without any reads if nothing changed
+     */
+    public static Task<Void> propagate(Context context, String uid, String bookId, Map<String, Object> changes) {
+        if (changes.isEmpty()) return Tasks.forResult(null);
+
+        if (changes.containsKey("bookName")) {
+            AlarmRegistry.getInstance(context).renameBook(bookId, (String) changes.get("bookName"));
+        }
+
+        FirebaseFirestore db = FirebaseFirestore.getInstance();
+        DocumentReference userRef = db.collection("users").document(uid);
+        CollectionReference goals = userRef.collection("goals");
+        CollectionReference alarms = userRef.collection("alarms");
+
+        Task<QuerySnapshot> goalsTask = goals.whereEqualTo("bookId", bookId).get();
+        Task<QuerySnapshot> alarmsTask = alarms.whereEqualTo("bookId", bookId).get();
+
+        return Tasks.whenAllSuccess(goalsTask, alarmsTask).onSuccessTask(results -> {
+            List<DocumentReference> stale = new ArrayList<>();
+            collectStale(goalsTask.getResult(), changes, stale);
+            collectStale(alarmsTask.getResult(), changes, stale);
+            if (stale.isEmpty()) return Tasks.forResult(null);
+
+            Log.d("BookFanOut", "Updating " + stale.size() + " dependents of book " + bookId);
+            return commitInBatches(db, stale, changes);
+        });
+    }
+
+    /**
+     * Adds the documents that do not hold the changed values yet.
+     *
+     * @param snapshot the dependents of the book
+     * @param changes  the changed fields
+     * @param stale    receives the documents to update
+     */
+    private static void collectStale(QuerySnapshot snapshot, Map<String, Object> changes,
+                                     List<DocumentReference> stale) {
+        for (DocumentSnapshot doc : snapshot.getDocuments()) {
+            for (Map.Entry<String, Object> change : changes.entrySet()) {
+                if (!Objects.equals(doc.get(change.getKey()), change.getValue())) {
+                    stale.add(doc.getReference());
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies the changes to the given documents in batches of at most {@value #MAX_BATCH_SIZE}.
+     *
+     * @param db      the Firestore instance
+     * @param refs    the documents to update
+     * @param changes the changed fields
+     * @return a task completing when every batch has been committed
+     */
+    private static Task<Void> commitInBatches(FirebaseFirestore db, List<DocumentReference> refs,
+                                              Map<String, Object> changes) {
+        List<Task<Void>> commits = new ArrayList<>();
+        for (int start = 0; start < refs.size(); start += MAX_BATCH_SIZE) {
+            WriteBatch batch = db.batch();
+            for (DocumentReference ref : refs.subList(start, Math.min(start + MAX_BATCH_SIZE, refs.size()))) {
+                batch.update(ref, changes);
+            }
+            commits.add(batch.commit());
+        }
+        return Tasks.whenAll(commits);
+    }
+}
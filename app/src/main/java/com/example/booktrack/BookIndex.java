@@ -0,0 +1,453 @@
+package com.example.booktrack;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Query;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * App-scoped, in-memory index of the user's books, partitioned by reading situation.
+ * A single Firestore snapshot listener on the {@code books} collection keeps the index
+ * current with the changes since the last sync, and every BookList tab reads its slice from here, so switching tabs costs
+ * no network or disk work.
+ *
+ * <p>The {@link BookStore} remains the source of the collection: the index is loaded from it
+ * on start, and the snapshot listener is then attached only to the documents whose
+ * {@code updatedAt} is newer than the newest cached book, so a cold start reads just the
+ * books changed since the last sync. Only an empty cache listens to the whole collection,
+ * which also picks up documents written before {@code updatedAt} existed. Documents whose
+ * {@code updatedAt} did not change are skipped, so only genuinely changed books are written
+ * back to disk or reported to listeners. As with any timestamp delta, books deleted on
+ * another device are not seen until the cache is cleared.</p>
+ *
+ * <p>Key features include:
+ * <ul>
+ *   <li>One partition per situation ("Read", "Currently Reading", "Stopped Reading", "Want to Read")</li>
+ *   <li>Partitions kept sorted by {@link #BY_NAME}, so tab order does not depend on the
+ *       order of edits or syncs</li>
+ *   <li>O(1) lookup by document ID and O(log n) moves between partitions</li>
+ *   <li>Snapshot deserialization off the main thread</li>
+ *   <li>Change notifications scoped to the affected situations</li>
+ *   <li>Incrementally maintained full-text search across all situations</li>
+ * </ul></p>
+ *
+ * <p>All public methods must be called on the main thread.</p>
+ *
+ * @author BookTrack Development Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class BookIndex {
+
+    /** The reading situations, in bottom navigation order */
+    public static final String[] SITUATIONS = {"Read", "Currently Reading", "Stopped Reading", "Want to Read"};
+
+    /** Order of the books in every partition: by name ignoring case, then by document ID */
+    public static final Comparator<Book> BY_NAME = (a, b) -> {
+        int byName = String.CASE_INSENSITIVE_ORDER.compare(orEmpty(a.getName()), orEmpty(b.getName()));
+        return byName != 0 ? byName : orEmpty(a.getDocId()).compareTo(orEmpty(b.getDocId()));
+    };
+
+    /** Background thread used to deserialize snapshot documents */
+    private static final ExecutorService snapshotExecutor = Executors.newSingleThreadExecutor();
+
+    /** Process-wide instance */
+    private static BookIndex instance;
+
+    /** Handler used to apply deserialized changes on the main thread */
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    /** Local persistent copy of the books */
+    private final BookStore store;
+
+    /** Books keyed by situation, each partition sorted by {@link #BY_NAME} */
+    private final Map<String, TreeSet<Book>> partitions = new HashMap<>();
+
+    /** All books keyed by document ID, used to find a book's current partition */
+    private final Map<String, Book> booksById = new HashMap<>();
+
+    /** Full-text index over the same books, kept in step with the partitions */
+    private final BookSearchIndex searchIndex = new BookSearchIndex();
+
+    /** Registered change listeners */
+    private final List<OnBookIndexChangedListener> listeners = new ArrayList<>();
+
+    /** ID of the user whose books are indexed, or null when stopped */
+    private String uid;
+
+    /** Registration of the Firestore snapshot listener, or null when stopped */
+    private ListenerRegistration registration;
+
+    /** Whether the index holds data (from disk or from Firestore) */
+    private boolean loaded;
+
+    /**
+     * Returns the process-wide book index, creating it on first use.
+     *
+     * @param context any context; only its application context is retained
+     * @return the shared BookIndex instance
+     */
+    public static synchronized BookIndex getInstance(Context context) {
+        if (instance == null) {
+            instance = new BookIndex(BookStore.getInstance(context));
+        }
+        return instance;
+    }
+
+    /**
+     * Creates an empty index on top of the given store.
+     *
+     * @param store the local book store used for warm starts and persistence
+     */
+    private BookIndex(BookStore store) {
+        this.store = store;
+        for (String situation : SITUATIONS) {
+            partitions.put(situation, new TreeSet<>(BY_NAME));
+        }
+    }
+
+    /**
+     * Starts indexing the given user's books: the cached books are loaded from the
+     * {@link BookStore}, then only newer changes are listened to. Calling this again for the
+     * same user is a no-op, so every screen may call it unconditionally.
+     *
+     * @param uid the ID of the signed-in user
+     */
+    public void start(String uid) {
+        if (uid.equals(this.uid)) return;
+        stop();
+        this.uid = uid;
+
+        store.loadAll(uid, books -> {
+            // Ignore a cache read that finished after a user switch
+            if (!uid.equals(this.uid)) return;
+            Set<String> changed = new HashSet<>();
+            long lastSync = 0;
+            for (Book book : books) {
+                put(book, changed);
+                lastSync = Math.max(lastSync, book.getUpdatedAt());
+            }
+            loaded = !books.isEmpty();
+            notifyListeners(changed);
+            listen(uid, lastSync);
+        });
+    }
+
+    /**
+     * Attaches the snapshot listener to the books changed after the last sync.
+     *
+     * @param uid      the ID of the signed-in user
+     * @param lastSync the newest {@code updatedAt} in the cache, or 0 if the cache is empty
+     */
+    private void listen(String uid, long lastSync) {
+        Query query = FirebaseFirestore.getInstance()
+                .collection("users")
+                .document(uid)
+                .collection("books");
+        if (lastSync > 0) {
+            query = query.whereGreaterThan("updatedAt", lastSync);
+        }
+
+        registration = query.addSnapshotListener(snapshotExecutor, (snapshot, error) -> {
+            if (error != null || snapshot == null) {
+                Log.e("BookIndex", "Book listener failed", error);
+                return;
+            }
+
+            List<Book> upserts = new ArrayList<>();
+            List<String> removals = new ArrayList<>();
+            for (DocumentChange change : snapshot.getDocumentChanges()) {
+                DocumentSnapshot doc = change.getDocument();
+                if (change.getType() == DocumentChange.Type.REMOVED) {
+                    removals.add(doc.getId());
+                } else {
+                    Book book = doc.toObject(Book.class);
+                    if (book != null) {
+                        book.setDocId(doc.getId());
+                        upserts.add(book);
+                    }
+                }
+            }
+            mainHandler.post(() -> applySnapshot(uid, upserts, removals));
+        });
+        Log.d("BookIndex", lastSync > 0 ? "Listening to books changed after " + lastSync
+                : "Listening to all books");
+    }
+
+    /**
+     * Stops the snapshot listener and clears the index.
+     */
+    public void stop() {
+        if (registration != null) {
+            registration.remove();
+            registration = null;
+        }
+        uid = null;
+        loaded = false;
+        booksById.clear();
+        searchIndex.clear();
+        for (TreeSet<Book> partition : partitions.values()) {
+            partition.clear();
+        }
+    }
+
+    /**
+     * Returns whether the index holds data for the current user.
+     *
+     * @return true once the cache or the first snapshot has been applied
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Returns a copy of the books in one situation partition.
+     *
+     * @param situation the reading situation
+     * @return the books in that situation, ordered by {@link #BY_NAME}; empty for an unknown situation
+     */
+    public List<Book> getBooks(String situation) {
+        TreeSet<Book> partition = partitions.get(situation);
+        return partition == null ? new ArrayList<>() : new ArrayList<>(partition);
+    }
+
+    /**
+     * Returns a slice of one situation partition, starting at a given book.
+     *
+     * @param situation the reading situation
+     * @param from      the first book of the slice, or null to start at the beginning; it need
+     *                  not be indexed any more, the slice then starts where it would be sorted
+     * @param limit     the maximum number of books returned
+     * @return up to {@code limit} books ordered by {@link #BY_NAME}; empty for an unknown situation
+     */
+    public List<Book> getBooks(String situation, Book from, int limit) {
+        List<Book> books = new ArrayList<>();
+        TreeSet<Book> partition = partitions.get(situation);
+        if (partition == null) return books;
+
+        for (Book book : from == null ? partition : partition.tailSet(from, true)) {
+            if (books.size() == limit) break;
+            books.add(book);
+        }
+        return books;
+    }
+
+    /**
+     * Returns the book a given number of rows before another one in its partition.
+     *
+     * @param situation the reading situation
+     * @param anchor    the book to count back from; it need not be indexed any more
+     * @param count     the number of rows to go back
+     * @return the book {@code count} rows before the anchor, or null if fewer books precede it
+     */
+    public Book getBookBefore(String situation, Book anchor, int count) {
+        TreeSet<Book> partition = partitions.get(situation);
+        if (partition == null) return null;
+
+        Book book = null;
+        Iterator<Book> preceding = partition.headSet(anchor, false).descendingIterator();
+        for (int i = 0; i < count; i++) {
+            if (!preceding.hasNext()) return null;
+            book = preceding.next();
+        }
+        return book;
+    }
+
+    /**
+     * Returns the number of books in one situation partition without copying it.
+     *
+     * @param situation the reading situation
+     * @return the partition size; 0 for an unknown situation
+     */
+    public int getBookCount(String situation) {
+        TreeSet<Book> partition = partitions.get(situation);
+        return partition == null ? 0 : partition.size();
+    }
+
+    /**
+     * Searches name, author and genre of the books in every situation.
+     *
+     * @param query the text typed by the user; each word matches as a case- and accent-insensitive prefix
+     * @return the first {@link BookSearchIndex#MAX_RESULTS} matching books, ordered by {@link #BY_NAME}
+     * @see BookSearchIndex#search(String)
+     */
+    public List<Book> search(String query) {
+        return searchIndex.search(query);
+    }
+
+    /**
+     * Returns the indexed book with the given document ID.
+     *
+     * @param docId the Firestore document ID
+     * @return the book, or null if it is not indexed
+     */
+    public Book getBook(String docId) {
+        return booksById.get(docId);
+    }
+
+    /**
+     * Moves a book to another situation partition in O(1), ahead of the Firestore write
+     * that will confirm it.
+     *
+     * @param docId        the Firestore document ID of the book
+     * @param newSituation the situation the book moves to
+     */
+    public void moveBook(String docId, String newSituation) {
+        Book current = booksById.get(docId);
+        if (current == null || newSituation == null || newSituation.equals(current.getSituation())) return;
+
+        Book moved = new Book(current);
+        moved.setSituation(newSituation);
+        Set<String> changed = new HashSet<>();
+        put(moved, changed);
+        notifyListeners(changed);
+    }
+
+    /**
+     * Removes a book from the index and from the local store.
+     *
+     * @param docId the Firestore document ID of the book
+     */
+    public void removeBook(String docId) {
+        Set<String> changed = new HashSet<>();
+        remove(docId, changed);
+        if (uid != null) store.delete(uid, docId);
+        notifyListeners(changed);
+    }
+
+    /**
+     * Registers a listener notified whenever one or more partitions change.
+     *
+     * @param listener the listener to add
+     */
+    public void addListener(OnBookIndexChangedListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a previously added listener.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeListener(OnBookIndexChangedListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Applies one deserialized snapshot on the main thread. Books whose {@code updatedAt}
+     * matches the indexed copy are skipped; the rest are indexed and persisted.
+     *
+     * @param snapshotUid the user the snapshot belongs to
+     * @param upserts     added or modified books
+     * @param removals    document IDs of removed books
+     */
+    private void applySnapshot(String snapshotUid, List<Book> upserts, List<String> removals) {
+        if (!snapshotUid.equals(uid)) return;
+
+        Set<String> changed = new HashSet<>();
+        List<Book> changedBooks = new ArrayList<>();
+        for (Book book : upserts) {
+            Book existing = booksById.get(book.getDocId());
+            if (existing != null && existing.getUpdatedAt() != 0
+                    && existing.getUpdatedAt() == book.getUpdatedAt()) {
+                continue;
+            }
+            put(book, changed);
+            changedBooks.add(book);
+        }
+        for (String docId : removals) {
+            remove(docId, changed);
+            store.delete(snapshotUid, docId);
+        }
+        if (!changedBooks.isEmpty()) {
+            store.upsert(snapshotUid, changedBooks);
+        }
+
+        loaded = true;
+        notifyListeners(changed);
+    }
+
+    /**
+     * Inserts or replaces a book, moving it out of its previous partition if needed.
+     *
+     * @param book    the book to index
+     * @param changed collects the situations whose partitions were modified
+     */
+    private void put(Book book, Set<String> changed) {
+        remove(book.getDocId(), changed);
+        TreeSet<Book> partition = partitions.get(book.getSituation());
+        if (partition == null) return; // Unknown situation, not shown on any tab
+        partition.add(book);
+        booksById.put(book.getDocId(), book);
+        searchIndex.add(book);
+        changed.add(book.getSituation());
+    }
+
+    /**
+     * Removes a book from its partition and from the ID lookup.
+     *
+     * @param docId   the Firestore document ID of the book
+     * @param changed collects the situations whose partitions were modified
+     */
+    private void remove(String docId, Set<String> changed) {
+        Book previous = booksById.remove(docId);
+        if (previous == null) return;
+        searchIndex.remove(docId);
+        // The indexed copy is removed, so the comparator sees the name it was sorted by
+        TreeSet<Book> partition = partitions.get(previous.getSituation());
+        if (partition != null) partition.remove(previous);
+        changed.add(previous.getSituation());
+    }
+
+    /**
+     * Returns a string, or the empty string for null.
+     *
+     * @param value the string
+     * @return the string itself, or "" if it is null
+     */
+    private static String orEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    /**
+     * Notifies listeners if any partition changed.
+     *
+     * @param changed the situations whose partitions were modified
+     */
+    private void notifyListeners(Set<String> changed) {
+        if (changed.isEmpty()) return;
+        for (OnBookIndexChangedListener listener : new ArrayList<>(listeners)) {
+            listener.onBookIndexChanged(changed);
+        }
+    }
+
+    /**
+     * Callback notified when partitions of the index change.
+     */
+    public interface OnBookIndexChangedListener {
+        /**
+         * Called on the main thread after the index changed.
+         *
+         * @param situations the situations whose partitions were modified
+         */
+        void onBookIndexChanged(Set<String> situations);
+    }
+}
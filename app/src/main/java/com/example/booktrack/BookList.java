@@ -1,6 +1,9 @@
 package com.example.booktrack;
 
 import android.os.Bundle;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.widget.EditText;
 
 import androidx.activity.EdgeToEdge;
 import androidx.appcompat.app.AppCompatActivity;
@@ -8,6 +11,8 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 import androidx.fragment.app.Fragment;
+import androidx.fragment.app.FragmentManager;
+import androidx.fragment.app.FragmentTransaction;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.android.material.bottomnavigation.BottomNavigationView;
@@ -23,6 +28,9 @@ import java.util.List;
  * <p>This activity uses fragments to display book lists for each category and provides
  * navigation controls through a bottom navigation view and a floating action button for going back.</p>
  *
+ * <p>A search field above the lists filters books from every category as the user types;
+ * clearing it returns to the selected category.</p>
+ *
  * @author BookTrack Development Team
  * @version 1.0
  * @since 1.0
@@ -52,6 +60,21 @@ public class BookList extends AppCompatActivity {
      */
     FloatingActionButton arrow;
 
+    /**
+     * Fragment tag of the search results list.
+     */
+    private static final String TAG_SEARCH = "search";
+
+    /**
+     * Search field filtering books across all categories.
+     */
+    private EditText searchInput;
+
+    /**
+     * The situation selected in the bottom navigation.
+     */
+    private String currentSituation = "Read";
+
     /**
      * Called when the activity is first created. This method sets up the user interface,
      * enables edge-to-edge display, configures window insets, initializes the bottom navigation,
@@ -62,8 +85,8 @@ public class BookList extends AppCompatActivity {
      *   <li>Sets the content view to the book list layout</li>
      *   <li>Enables edge-to-edge display for modern Android UI</li>
      *   <li>Configures window insets for proper padding</li>
-     *   <li>Loads the default "Read" fragment if no saved state exists</li>
-     *   <li>Sets up bottom navigation with four categories</li>
+     *   <li>Sets up bottom navigation with four categories, one reusable fragment each</li>
+     *   <li>Sets up the search field that switches to the search results list</li>
      *   <li>Configures the floating action button as a back button</li>
      * </ul>
      *
@@ -86,47 +109,111 @@ public class BookList extends AppCompatActivity {
             return insets;
         });
 
-        // Load default fragment if this is a fresh activity creation
-        if (savedInstanceState == null) {
-            getSupportFragmentManager()
-                    .beginTransaction()
-                    .replace(R.id.fragment_container, BookListFragment.newInstance("Read"))
-                    .commit();
-        }
+        // Setup search field; typing shows results from every category
+        searchInput = findViewById(R.id.search_input);
+        searchInput.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {}
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                String query = s.toString().trim();
+                if (query.isEmpty()) {
+                    showSituation(currentSituation);
+                } else {
+                    showSearch(query);
+                }
+            }
+        });
 
         // Setup bottom navigation with category switching
         BottomNavigationView bottomNav = findViewById(R.id.bottom_navigation);
         bottomNav.setOnItemSelectedListener(item -> {
-            Fragment selectedFragment = null;
-
             int id = item.getItemId();
 
-            // Determine which fragment to display based on selected navigation item
+            // Picking a category leaves search mode
+            if (searchInput.length() > 0) searchInput.setText("");
+
+            // Determine which situation to display based on selected navigation item
             if (id == R.id.nav_read) {
-                selectedFragment = BookListFragment.newInstance("Read");
+                showSituation("Read");
             } else if (id == R.id.nav_current) {
-                selectedFragment = BookListFragment.newInstance("Currently Reading");
+                showSituation("Currently Reading");
             } else if (id == R.id.nav_stopped) {
-                selectedFragment = BookListFragment.newInstance("Stopped Reading");
+                showSituation("Stopped Reading");
             } else if (id == R.id.nav_want) {
-                selectedFragment = BookListFragment.newInstance("Want to Read");
-            }
-
-            // Replace current fragment with selected one
-            if (selectedFragment != null) {
-                getSupportFragmentManager().beginTransaction()
-                        .replace(R.id.fragment_container, selectedFragment)
-                        .commit();
+                showSituation("Want to Read");
             }
 
             return true;
         });
 
-        // Set default selected item to "Read" category
+        // Set default selected item to "Read" category (this also shows its fragment)
         bottomNav.setSelectedItemId(R.id.nav_read);
 
         // Setup floating action button as back/close button
         arrow = findViewById(R.id.arrow);
         arrow.setOnClickListener(v -> finish());
     }
-}
\ No newline at end of file
+
+    /**
+     * Shows the fragment for the given situation and hides the others.
+     * Each situation's fragment is created once and kept, tagged by situation, so
+     * switching tabs reuses it instead of building a new fragment every time.
+     *
+     * @param situation the reading situation to display
+     */
+    private void showSituation(String situation) {
+        currentSituation = situation;
+        FragmentManager fragmentManager = getSupportFragmentManager();
+        FragmentTransaction transaction = fragmentManager.beginTransaction();
+
+        Fragment search = fragmentManager.findFragmentByTag(TAG_SEARCH);
+        if (search != null) transaction.hide(search);
+
+        for (String tag : BookIndex.SITUATIONS) {
+            Fragment fragment = fragmentManager.findFragmentByTag(tag);
+            if (tag.equals(situation)) {
+                if (fragment == null) {
+                    transaction.add(R.id.fragment_container, BookListFragment.newInstance(tag), tag);
+                } else {
+                    transaction.show(fragment);
+                }
+            } else if (fragment != null) {
+                transaction.hide(fragment);
+            }
+        }
+
+        transaction.commit();
+    }
+
+    /**
+     * Shows the search results list for the given query and hides the category lists.
+     * The results fragment is created on first use and only receives new queries afterwards.
+     *
+     * @param query the trimmed, non-empty search text
+     */
+    private void showSearch(String query) {
+        FragmentManager fragmentManager = getSupportFragmentManager();
+        FragmentTransaction transaction = fragmentManager.beginTransaction();
+
+        for (String tag : BookIndex.SITUATIONS) {
+            Fragment fragment = fragmentManager.findFragmentByTag(tag);
+            if (fragment != null) transaction.hide(fragment);
+        }
+
+        BookListFragment search = (BookListFragment) fragmentManager.findFragmentByTag(TAG_SEARCH);
+        if (search == null) {
+            search = BookListFragment.newSearchInstance();
+            transaction.add(R.id.fragment_container, search, TAG_SEARCH);
+        } else {
+            transaction.show(search);
+        }
+        search.setQuery(query);
+
+        transaction.commit();
+    }
+}
@@ -20,11 +20,6 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
-import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.FirebaseFirestore;
-
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * BookListFragment displays a list of books filtered by reading situation/status.
@@ -37,7 +32,9 @@ import java.util.List;
  * <p>Key features include:</p>
  * <ul>
  *   <li>Dynamic book loading based on reading situation</li>
- *   <li>Firebase Firestore integration for data persistence</li>
+ *   <li>Reads its partition from the shared {@link BookIndex}, with no per-tab query</li>
+ *   <li>A sliding window over very large partitions, read from the same index</li>
+ *   <li>Search mode listing matches from every situation as the query is typed</li>
  *   <li>Image selection capabilities (gallery and camera)</li>
  *   <li>RecyclerView with custom adapter for book display</li>
  * </ul>
@@ -54,15 +51,21 @@ public class BookListFragment extends Fragment {
     private static final String ARG_SITUATION = "situation";
 
     /**
-     * The current reading situation/status filter for displaying books.
-     * Examples: "Read", "Currently Reading", "Stopped Reading", "Want to Read"
+     * Bundle argument key marking the fragment as the cross-situation search results list.
      */
-    private String situation;
+    private static final String ARG_SEARCH = "search";
 
     /**
-     * List containing Book objects to be displayed in the RecyclerView.
+     * Partitions with more books than this are listed through a {@link BookPager} window
+     * instead of being handed to the adapter in full.
+     */
+    private static final int PAGED_THRESHOLD = 500;
+
+    /**
+     * The current reading situation/status filter for displaying books.
+     * Examples: "Read", "Currently Reading", "Stopped Reading", "Want to Read"
      */
-    private List<Book> bookList;
+    private String situation;
 
     /**
      * Adapter for binding book data to the RecyclerView and handling user interactions.
@@ -81,6 +84,34 @@ public class BookListFragment extends Fragment {
      */
     private ActivityResultLauncher<Intent> cameraLauncher;
 
+    /**
+     * Shared, app-scoped book index this fragment reads its partition from.
+     */
+    private BookIndex bookIndex;
+
+    /**
+     * Window over the partition used instead of the full partition for large libraries; null for small ones.
+     */
+    private BookPager pager;
+
+    /**
+     * Whether this fragment shows search results instead of one situation.
+     */
+    private boolean searchMode;
+
+    /**
+     * The current search query; only used in search mode.
+     */
+    private String query = "";
+
+    /**
+     * Refreshes the list when this fragment's partition of the index changes.
+     * Search results may span every partition, so in search mode any change refreshes them.
+     */
+    private final BookIndex.OnBookIndexChangedListener indexListener = situations -> {
+        if (searchMode || situations.contains(situation)) showBooks();
+    };
+
     /**
      * Factory method to create a new instance of BookListFragment with the specified reading situation.
      * This method follows the recommended pattern for fragment instantiation with arguments.
@@ -97,6 +128,31 @@ public class BookListFragment extends Fragment {
         return fragment;
     }
 
+    /**
+     * Factory method to create a fragment listing search results across all situations.
+     * The query is supplied afterwards through {@link #setQuery(String)}.
+     *
+     * @return A new instance of BookListFragment in search mode
+     */
+    public static BookListFragment newSearchInstance() {
+        BookListFragment fragment = new BookListFragment();
+        Bundle args = new Bundle();
+        args.putBoolean(ARG_SEARCH, true);
+        fragment.setArguments(args);
+        return fragment;
+    }
+
+    /**
+     * Updates the search query and refreshes the results. Each word of the query matches
+     * as a prefix of a word in the book's name, author or genre.
+     *
+     * @param query The text typed by the user
+     */
+    public void setQuery(String query) {
+        this.query = query == null ? "" : query;
+        if (bookIndex != null && adapter != null) showBooks();
+    }
+
     /**
      * Called to create the view hierarchy associated with the fragment.
      * Inflates the fragment layout from the XML resource file.
@@ -121,6 +177,7 @@ public class BookListFragment extends Fragment {
      * <p>The method performs the following setup operations:</p>
      * <ul>
      *   <li>Initializes RecyclerView with LinearLayoutManager and BookAdapter</li>
+     *   <li>Adds a cover preloader and a scroll listener that slides the window in paged mode</li>
      *   <li>Retrieves the situation argument and loads corresponding books</li>
      *   <li>Sets up gallery launcher for image selection from device storage</li>
      *   <li>Sets up camera launcher for capturing new images</li>
@@ -135,13 +192,30 @@ public class BookListFragment extends Fragment {
 
         // Setup RecyclerView with adapter and layout manager
         RecyclerView recyclerView = view.findViewById(R.id.recycler_view);
-        bookList = new ArrayList<>();
-        adapter = new BookAdapter(requireContext(), bookList);
-        recyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
+        adapter = new BookAdapter(requireContext());
+        LinearLayoutManager layoutManager = new LinearLayoutManager(requireContext());
+        recyclerView.setLayoutManager(layoutManager);
         recyclerView.setAdapter(adapter);
 
+        // Preload covers a few rows ahead so fast flings don't show placeholders
+        recyclerView.addOnScrollListener(ListCovers.preloader(this, adapter));
+
+        // Slide the window ahead of the scroll position when paging
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView rv, int dx, int dy) {
+                if (pager != null && pager.onScrolled(layoutManager.findFirstVisibleItemPosition(),
+                        layoutManager.findLastVisibleItemPosition())) {
+                    // Positions refer to the old window until the diff is committed
+                    BookPager committing = pager;
+                    adapter.submitList(committing.getWindow(), committing::onWindowCommitted);
+                }
+            }
+        });
+
         // Load books for the specified situation
         if (getArguments() != null) {
+            searchMode = getArguments().getBoolean(ARG_SEARCH);
             situation = getArguments().getString(ARG_SITUATION);
             loadBooksBySituation(situation);
         }
@@ -181,19 +255,21 @@ public class BookListFragment extends Fragment {
     }
 
     /**
-     * Loads books from Firebase Firestore based on the specified reading situation.
-     * This method queries the user's book collection and filters by the situation field.
-     *
-     * <p>The method performs the following operations:</p>
-     * <ul>
-     *   <li>Authenticates the current Firebase user</li>
-     *   <li>Queries Firestore for books matching the specified situation</li>
-     *   <li>Converts Firestore documents to Book objects</li>
-     *   <li>Updates the RecyclerView adapter with the loaded books</li>
-     * </ul>
+     * Called when the view hierarchy is being removed. Unregisters this fragment
+     * from the shared {@link BookIndex} so it no longer receives partition updates.
+     */
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        if (bookIndex != null) bookIndex.removeListener(indexListener);
+    }
+
+    /**
+     * Displays this fragment's slice of the shared {@link BookIndex} and subscribes to its changes.
+     * The index is started for the current user if it is not running yet; switching between
+     * tabs afterwards reads straight from memory.
      *
-     * <p>If no user is authenticated, the method returns early without loading books.
-     * The Firestore document ID is preserved in each Book object for future operations.</p>
+     * <p>If no user is authenticated, the method returns early without loading books.</p>
      *
      * @param situation The reading situation to filter books by
      *                  (e.g., "Read", "Currently Reading", "Stopped Reading", "Want to Read")
@@ -203,27 +279,36 @@ public class BookListFragment extends Fragment {
         FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
         if (user == null) return;
 
-        // Query Firestore for books matching the situation
-        FirebaseFirestore db = FirebaseFirestore.getInstance();
-        db.collection("users")
-                .document(user.getUid())
-                .collection("books")
-                .whereEqualTo("situation", situation)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    if (querySnapshot != null) {
-                        bookList.clear();
-                        // Convert Firestore documents to Book objects
-                        for (DocumentSnapshot doc : querySnapshot.getDocuments()) {
-                            Book book = doc.toObject(Book.class);
-                            if (book != null) {
-                                book.setDocId(doc.getId()); // Preserve Firestore document ID
-                                bookList.add(book);
-                            }
-                        }
-                        // Notify adapter of data changes
-                        adapter.notifyDataSetChanged();
-                    }
-                });
+        bookIndex = BookIndex.getInstance(requireContext());
+        bookIndex.start(user.getUid());
+        bookIndex.addListener(indexListener);
+        showBooks();
+    }
+
+    /**
+     * Replaces the displayed books with the current contents of this situation's partition,
+     * or with the matches for the current query in search mode. While the partition holds
+     * more than {@link #PAGED_THRESHOLD} books, only the pager's window of it is shown; the
+     * window is read from the live partition, so added and moved books show up in place.
+     */
+    private void showBooks() {
+        if (searchMode) {
+            adapter.submitList(bookIndex.search(query));
+            return;
+        }
+
+        boolean large = bookIndex.getBookCount(situation) > PAGED_THRESHOLD;
+        if (large && pager == null) {
+            pager = new BookPager(bookIndex, situation);
+        } else if (!large) {
+            pager = null;
+        }
+
+        if (pager != null) {
+            BookPager committing = pager;
+            adapter.submitList(committing.getWindow(), committing::onWindowCommitted);
+        } else {
+            adapter.submitList(bookIndex.getBooks(situation));
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.example.booktrack;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Window-based pager over one situation partition of the shared {@link BookIndex}.
+ * Very large partitions are not handed to the adapter in full: only a bounded window of
+ * {@link #MAX_PAGES} pages is listed, and the window slides by one page as the user
+ * scrolls towards either end.
+ *
+ * <p>The window is anchored on its first book rather than on a position and is read from
+ * the live, name-sorted partition every time, so books added, renamed or moved into the
+ * situation appear in place as soon as they fall inside the window, and books that left
+ * it disappear. Paging costs no Firestore reads.</p>
+ *
+ * <p>This pager only bounds what the adapter holds. The index keeps every book of the user
+ * in memory, loaded from {@link BookStore} with only the changes since the last sync read
+ * from Firestore, because search and the other tabs need the whole collection. Memory and
+ * the time to the first page therefore still grow with the library; what stays flat is the
+ * cost of diffing and binding the list.</p>
+ *
+ * <p>All methods must be called on the main thread.</p>
+ *
+ * @author BookTrack Development Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class BookPager {
+
+    /** Number of books the window slides by */
+    public static final int PAGE_SIZE = 50;
+
+    /** Maximum number of pages listed at once */
+    public static final int MAX_PAGES = 4;
+
+    /** How many rows before either end of the window it slides */
+    public static final int PREFETCH_DISTANCE = 20;
+
+    /** Maximum number of books in the window */
+    private static final int WINDOW_SIZE = PAGE_SIZE * MAX_PAGES;
+
+    /** The index the window is read from */
+    private final BookIndex index;
+
+    /** The reading situation to page through */
+    private final String situation;
+
+    /** First book of the window, or null if the window starts at the beginning of the partition */
+    private Book anchor;
+
+    /** Books of the window as last read by {@link #getWindow()} */
+    private List<Book> window = new ArrayList<>();
+
+    /** Whether the partition continues after the window */
+    private boolean hasMore;
+
+    /**
+     * Whether the window slid and the adapter has not committed it yet; scroll positions
+     * reported meanwhile still refer to the previous window
+     */
+    private boolean sliding;
+
+    /**
+     * Creates a pager over one situation of the index, starting at the beginning.
+     *
+     * @param index     the shared book index
+     * @param situation the reading situation to page through
+     */
+    public BookPager(BookIndex index, String situation) {
+        this.index = index;
+        this.situation = situation;
+    }
+
+    /**
+     * Moves the window back to the beginning of the partition.
+     */
+    public void reset() {
+        anchor = null;
+    }
+
+    /**
+     * Reads the window from the index.
+     *
+     * @return a new list holding the windowed books, in display order
+     */
+    public List<Book> getWindow() {
+        List<Book> books = index.getBooks(situation, anchor, WINDOW_SIZE + 1);
+        hasMore = books.size() > WINDOW_SIZE;
+        if (hasMore) books.remove(WINDOW_SIZE);
+        window = books;
+        return new ArrayList<>(window);
+    }
+
+    /**
+     * Slides the window by one page when the visible rows come close to either of its ends.
+     *
+     * @param firstVisible adapter position of the first visible row
+     * @param lastVisible  adapter position of the last visible row
+     * @return true if the window moved and should be displayed again; the caller must report
+     *         the commit of the new window through {@link #onWindowCommitted()}
+     */
+    public boolean onScrolled(int firstVisible, int lastVisible) {
+        if (sliding || window.isEmpty()) return false;
+
+        if (hasMore && window.size() > PAGE_SIZE && lastVisible >= window.size() - PREFETCH_DISTANCE) {
+            anchor = window.get(PAGE_SIZE);
+            sliding = true;
+            return true;
+        }
+        if (anchor != null && firstVisible >= 0 && firstVisible < PREFETCH_DISTANCE) {
+            anchor = index.getBookBefore(situation, anchor, PAGE_SIZE);
+            sliding = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Allows the window to slide again once the adapter has committed the last window read,
+     * so that scroll positions refer to it. Pass it as the commit callback of every window
+     * submitted to the adapter: a list superseded before its diff finished never commits.
+     */
+    public void onWindowCommitted() {
+        sliding = false;
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.booktrack;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Incremental in-memory full-text index over book name, author and genre.
+ * Text is case- and diacritic-folded and split into words; each word maps to the books
+ * containing it in a sorted term dictionary, so every query word matches as a prefix
+ * ("tolk" finds "Tolkien", "emile" finds "Émile").
+ *
+ * <p>Queries start from the query word with the fewest matching books and verify the
+ * remaining words against each candidate's own word list. Matches are kept in a heap bounded
+ * to {@link #MAX_RESULTS}, so a broad query returns the first books by name in
+ * O(n log {@value #MAX_RESULTS}) without sorting every match. This keeps search-as-you-type
+ * within a frame even for tens of thousands of books.</p>
+ *
+ * <p>The index is updated one book at a time by {@link BookIndex} as Firestore snapshot
+ * changes arrive. It is not thread-safe and is used on the main thread only.</p>
+ *
+ * @author BookTrack Development Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class BookSearchIndex {
+
+    /** Maximum number of books returned by one query */
+    public static final int MAX_RESULTS = 100;
+
+    /** Matches combining marks left over after canonical decomposition */
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    /** Matches runs of characters that separate words */
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /** Sorted term dictionary: folded word to the document IDs of the books containing it */
+    private final TreeMap<String, Set<String>> postings = new TreeMap<>();
+
+    /** Folded words of every indexed book, used to verify candidates and to remove books */
+    private final Map<String, String[]> wordsByDocId = new HashMap<>();
+
+    /** Indexed books by document ID */
+    private final Map<String, Book> booksByDocId = new HashMap<>();
+
+    /**
+     * Adds a book to the index, replacing any previous version of it.
+     *
+     * @param book the book to index; its document ID must be set
+     */
+    public void add(Book book) {
+        remove(book.getDocId());
+
+        StringBuilder text = new StringBuilder();
+        for (String field : new String[]{book.getName(), book.getAuthor(), book.getGenre()}) {
+            if (field != null) text.append(field).append(' ');
+        }
+        String[] words = tokenize(text.toString());
+        wordsByDocId.put(book.getDocId(), words);
+        booksByDocId.put(book.getDocId(), book);
+        for (String word : words) {
+            Set<String> docIds = postings.get(word);
+            if (docIds == null) {
+                docIds = new HashSet<>();
+                postings.put(word, docIds);
+            }
+            docIds.add(book.getDocId());
+        }
+    }
+
+    /**
+     * Removes a book from the index.
+     *
+     * @param docId the document ID of the book; unknown IDs are ignored
+     */
+    public void remove(String docId) {
+        String[] words = wordsByDocId.remove(docId);
+        booksByDocId.remove(docId);
+        if (words == null) return;
+
+        for (String word : words) {
+            Set<String> docIds = postings.get(word);
+            if (docIds == null) continue;
+            docIds.remove(docId);
+            if (docIds.isEmpty()) postings.remove(word);
+        }
+    }
+
+    /**
+     * Removes every book from the index.
+     */
+    public void clear() {
+        postings.clear();
+        wordsByDocId.clear();
+        booksByDocId.clear();
+    }
+
+    /**
+     * Finds the books matching every word of the query as a word prefix.
+     *
+     * @param query the raw text typed by the user
+     * @return the first {@link #MAX_RESULTS} matching books by {@link BookIndex#BY_NAME}, in
+     *         that order; empty for a blank query
+     */
+    public List<Book> search(String query) {
+        String[] queryWords = tokenize(query);
+        if (queryWords.length == 0) return new ArrayList<>();
+
+        // Start from the most selective query word
+        List<Set<String>> seedPostings = null;
+        int seedSize = Integer.MAX_VALUE;
+        for (String word : queryWords) {
+            List<Set<String>> matching = new ArrayList<>(prefixRange(word).values());
+            int size = 0;
+            for (Set<String> docIds : matching) {
+                size += docIds.size();
+            }
+            if (size == 0) return new ArrayList<>();
+            if (size < seedSize) {
+                seedSize = size;
+                seedPostings = matching;
+            }
+        }
+
+        // Max-heap by name holding the best matches so far; its head is the first to give way
+        PriorityQueue<Book> best = new PriorityQueue<>(MAX_RESULTS + 1,
+                Collections.reverseOrder(BookIndex.BY_NAME));
+        Set<String> seen = new HashSet<>();
+        for (Set<String> docIds : seedPostings) {
+            for (String docId : docIds) {
+                if (!seen.add(docId) || !matchesAll(wordsByDocId.get(docId), queryWords)) continue;
+                best.add(booksByDocId.get(docId));
+                if (best.size() > MAX_RESULTS) best.poll();
+            }
+        }
+
+        List<Book> results = new ArrayList<>(best);
+        Collections.sort(results, BookIndex.BY_NAME);
+        return results;
+    }
+
+    /**
+     * Returns the slice of the term dictionary whose words start with the given prefix.
+     *
+     * @param prefix a folded word prefix
+     * @return a live view of the matching dictionary entries
+     */
+    private SortedMap<String, Set<String>> prefixRange(String prefix) {
+        return postings.subMap(prefix, prefix + Character.MAX_VALUE);
+    }
+
+    /**
+     * Checks that every query word is a prefix of at least one of the book's words.
+     *
+     * @param bookWords  the folded words of the book
+     * @param queryWords the folded query words
+     * @return true if the book matches the whole query
+     */
+    private static boolean matchesAll(String[] bookWords, String[] queryWords) {
+        for (String queryWord : queryWords) {
+            boolean found = false;
+            for (String bookWord : bookWords) {
+                if (bookWord.startsWith(queryWord)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Folds text to lower case without diacritics and splits it into distinct words.
+     *
+     * @param text the text to tokenize
+     * @return the distinct folded words
+     */
+    static String[] tokenize(String text) {
+        if (text == null) return new String[0];
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        Set<String> words = new HashSet<>();
+        for (String word : SEPARATORS.split(folded)) {
+            if (!word.isEmpty()) words.add(word);
+        }
+        return words.toArray(new String[0]);
+    }
+}
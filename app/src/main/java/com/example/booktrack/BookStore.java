@@ -0,0 +1,189 @@
+package com.example.booktrack;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Persistent on-device copy of the user's book collection.
+ * The store lets book lists render from disk immediately, before Firestore answers;
+ * {@link BookIndex} writes back only the documents whose {@link Book#getUpdatedAt()} changed.
+ *
+ * <p>All disk access runs on a single background thread; results are delivered
+ * back on the main thread through {@link OnBooksLoadedListener}.</p>
+ *
+ * <p>Key features include:
+ * <ul>
+ *   <li>Per-user partitioning of cached books</li>
+ *   <li>Whole-library reads used to warm the in-memory {@link BookIndex}</li>
+ *   <li>Bulk upsert of changed books in one transaction</li>
+ * </ul></p>
+ *
+ * @author BookTrack Development Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class BookStore {
+
+    /** Single background thread serializing all disk access */
+    private static final ExecutorService diskExecutor = Executors.newSingleThreadExecutor();
+
+    /** Handler used to deliver results on the main thread */
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    /** Process-wide instance */
+    private static BookStore instance;
+
+    /** Database helper owning the books table */
+    private final BookTrackDatabase database;
+
+    /**
+     * Returns the process-wide book store, creating it on first use.
+     *
+     * @param context any context; only its application context is retained
+     * @return the shared BookStore instance
+     */
+    public static synchronized BookStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new BookStore(BookTrackDatabase.getInstance(context));
+        }
+        return instance;
+    }
+
+    /**
+     * Creates a store on top of the given database helper.
+     *
+     * @param database the helper owning the books table
+     */
+    private BookStore(BookTrackDatabase database) {
+        this.database = database;
+    }
+
+    /**
+     * Loads all cached books of a user in the background and delivers them on the main thread.
+     *
+     * @param uid      the ID of the signed-in user
+     * @param listener receives the cached books, ordered by name
+     */
+    public void loadAll(String uid, OnBooksLoadedListener listener) {
+        diskExecutor.execute(() -> {
+            List<Book> books = queryBooks("uid = ?", new String[]{uid});
+            mainHandler.post(() -> listener.onBooksLoaded(books));
+        });
+    }
+
+    /**
+     * Inserts or replaces the given books in a single transaction.
+     *
+     * @param uid   the ID of the signed-in user
+     * @param books changed books; they must not be modified after this call
+     */
+    public void upsert(String uid, List<Book> books) {
+        diskExecutor.execute(() -> {
+            SQLiteDatabase db = database.getWritableDatabase();
+            db.beginTransaction();
+            try {
+                for (Book book : books) {
+                    db.insertWithOnConflict(BookTrackDatabase.TABLE_BOOKS, null,
+                            toContentValues(uid, book), SQLiteDatabase.CONFLICT_REPLACE);
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        });
+    }
+
+    /**
+     * Removes a single book from the cache, e.g. after it was deleted in Firestore.
+     *
+     * @param uid   the ID of the signed-in user
+     * @param docId the Firestore document ID of the book
+     */
+    public void delete(String uid, String docId) {
+        diskExecutor.execute(() -> database.getWritableDatabase().delete(
+                BookTrackDatabase.TABLE_BOOKS, "uid = ? AND doc_id = ?", new String[]{uid, docId}));
+    }
+
+    /**
+     * Runs a query against the books table on the calling thread.
+     *
+     * @param selection     the WHERE clause
+     * @param selectionArgs arguments bound to the WHERE clause
+     * @return the matching books ordered by name
+     */
+    private List<Book> queryBooks(String selection, String[] selectionArgs) {
+        List<Book> books = new ArrayList<>();
+        try (Cursor cursor = database.getReadableDatabase().query(BookTrackDatabase.TABLE_BOOKS, null,
+                selection, selectionArgs, null, null, "name COLLATE NOCASE")) {
+            while (cursor.moveToNext()) {
+                books.add(fromCursor(cursor));
+            }
+        }
+        return books;
+    }
+
+    /**
+     * Converts a book into a row of the books table.
+     *
+     * @param uid  the ID of the owning user
+     * @param book the book to convert
+     * @return the column values for the row
+     */
+    private static ContentValues toContentValues(String uid, Book book) {
+        ContentValues values = new ContentValues();
+        values.put("uid", uid);
+        values.put("doc_id", book.getDocId());
+        values.put("name", book.getName());
+        values.put("author", book.getAuthor());
+        values.put("genre", book.getGenre());
+        values.put("situation", book.getSituation());
+        values.put("page_count", book.getPageCount());
+        values.put("current_page", book.getCurrentPage());
+        values.put("image_url", book.getImageUrl());
+        values.put("thumb_url", book.getThumbUrl());
+        values.put("updated_at", book.getUpdatedAt());
+        return values;
+    }
+
+    /**
+     * Reads the book at the cursor's current row.
+     *
+     * @param cursor a cursor positioned on a books table row
+     * @return the book stored in that row
+     */
+    private static Book fromCursor(Cursor cursor) {
+        Book book = new Book();
+        book.setDocId(cursor.getString(cursor.getColumnIndexOrThrow("doc_id")));
+        book.setName(cursor.getString(cursor.getColumnIndexOrThrow("name")));
+        book.setAuthor(cursor.getString(cursor.getColumnIndexOrThrow("author")));
+        book.setGenre(cursor.getString(cursor.getColumnIndexOrThrow("genre")));
+        book.setSituation(cursor.getString(cursor.getColumnIndexOrThrow("situation")));
+        book.setPageCount(cursor.getInt(cursor.getColumnIndexOrThrow("page_count")));
+        book.setCurrentPage(cursor.getInt(cursor.getColumnIndexOrThrow("current_page")));
+        book.setImageUrl(cursor.getString(cursor.getColumnIndexOrThrow("image_url")));
+        book.setThumbUrl(cursor.getString(cursor.getColumnIndexOrThrow("thumb_url")));
+        book.setUpdatedAt(cursor.getLong(cursor.getColumnIndexOrThrow("updated_at")));
+        return book;
+    }
+
+    /**
+     * Callback receiving books loaded from the local store.
+     */
+    public interface OnBooksLoadedListener {
+        /**
+         * Called on the main thread with the loaded books.
+         *
+         * @param books the cached books
+         */
+        void onBooksLoaded(List<Book> books);
+    }
+}
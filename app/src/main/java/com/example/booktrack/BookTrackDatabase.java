@@ -0,0 +1,166 @@
+package com.example.booktrack;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+/**
+ * Local SQLite database backing the offline-first caches of the BookTrack application.
+ * This helper owns the on-device schema and is shared by all local stores so that
+ * they use a single connection pool.
+ *
+ * <p>Tables:
+ * <ul>
+ *   <li><b>books</b> - a mirror of the user's Firestore book documents, keyed by user ID
+ *       and document ID, used to render book lists before the network answers</li>
+ *   <li><b>alarms</b> - the pending alarms backing {@link AlarmQueue}, indexed by deadline,
+ *       with the request codes assigned by {@link AlarmRegistry}</li>
+ *   <li><b>alarm_deliveries</b> - a bounded ring buffer of alarm delivery latencies
+ *       recorded by {@link AlarmTelemetry}</li>
+ * </ul></p>
+ *
+ * @author BookTrack Development Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class BookTrackDatabase extends SQLiteOpenHelper {
+
+    /** File name of the on-device database */
+    private static final String DATABASE_NAME = "booktrack.db";
+
+    /** Current schema version; bump and extend {@link #onUpgrade} when the schema changes */
+    private static final int DATABASE_VERSION = 8;
+
+    /** Name of the table mirroring the user's book documents */
+    static final String TABLE_BOOKS = "books";
+
+    /** Name of the table holding the pending alarms of the on-device alarm queue */
+    static final String TABLE_ALARMS = "alarms";
+
+    /** Name of the ring buffer of alarm delivery samples kept by {@link AlarmTelemetry} */
+    static final String TABLE_ALARM_DELIVERIES = "alarm_deliveries";
+
+    /** Process-wide instance, created lazily with the application context */
+    private static BookTrackDatabase instance;
+
+    /**
+     * Returns the process-wide database helper, creating it on first use.
+     *
+     * @param context any context; only its application context is retained
+     * @return the shared BookTrackDatabase instance
+     */
+    public static synchronized BookTrackDatabase getInstance(Context context) {
+        if (instance == null) {
+            instance = new BookTrackDatabase(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Creates the helper. Use {@link #getInstance(Context)} instead of calling this directly.
+     *
+     * @param context the application context
+     */
+    private BookTrackDatabase(Context context) {
+        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+    }
+
+    /**
+     * Creates the initial schema when the database file is first created.
+     *
+     * @param db the database being created
+     */
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_BOOKS + " ("
+                + "uid TEXT NOT NULL, "
+                + "doc_id TEXT NOT NULL, "
+                + "name TEXT, "
+                + "author TEXT, "
+                + "genre TEXT, "
+                + "situation TEXT, "
+                + "page_count INTEGER NOT NULL DEFAULT 0, "
+                + "current_page INTEGER NOT NULL DEFAULT 0, "
+                + "image_url TEXT, "
+                + "thumb_url TEXT, "
+                + "updated_at INTEGER NOT NULL DEFAULT 0, "
+                + "PRIMARY KEY (uid, doc_id))");
+        db.execSQL("CREATE INDEX idx_books_situation ON " + TABLE_BOOKS + " (uid, situation)");
+        createAlarmsTable(db);
+        createAlarmDeliveriesTable(db);
+    }
+
+    /**
+     * Migrates the schema between versions.
+     *
+     * @param db         the database being upgraded
+     * @param oldVersion the schema version on disk
+     * @param newVersion the schema version expected by this build
+     */
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        if (oldVersion < 2) {
+            db.execSQL("ALTER TABLE " + TABLE_BOOKS + " ADD COLUMN thumb_url TEXT");
+        }
+        if (oldVersion < 3) {
+            // Creates the alarms table with all later columns already in place
+            createAlarmsTable(db);
+        } else {
+            if (oldVersion < 4) {
+                db.execSQL("ALTER TABLE " + TABLE_ALARMS + " ADD COLUMN request_code INTEGER NOT NULL DEFAULT 0");
+            }
+            if (oldVersion < 5) {
+                db.execSQL("ALTER TABLE " + TABLE_ALARMS + " ADD COLUMN recurrence TEXT");
+                db.execSQL("ALTER TABLE " + TABLE_ALARMS + " ADD COLUMN interval_days INTEGER NOT NULL DEFAULT 0");
+            }
+            if (oldVersion < 6) {
+                db.execSQL("ALTER TABLE " + TABLE_ALARMS + " ADD COLUMN precision TEXT");
+                db.execSQL("ALTER TABLE " + TABLE_ALARMS + " ADD COLUMN window_millis INTEGER NOT NULL DEFAULT 0");
+            }
+        }
+        if (oldVersion < 7) {
+            createAlarmDeliveriesTable(db);
+        }
+        if (oldVersion < 8) {
+            db.execSQL("ALTER TABLE " + TABLE_BOOKS + " ADD COLUMN current_page INTEGER NOT NULL DEFAULT 0");
+        }
+    }
+
+    /**
+     * Creates the alarms table and its deadline index.
+     *
+     * @param db the database being created or upgraded
+     */
+    private static void createAlarmsTable(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_ALARMS + " ("
+                + "alarm_id TEXT PRIMARY KEY NOT NULL, "
+                + "uid TEXT NOT NULL, "
+                + "book_id TEXT, "
+                + "book_name TEXT, "
+                + "message TEXT, "
+                + "deadline_millis INTEGER NOT NULL, "
+                + "request_code INTEGER NOT NULL DEFAULT 0, "
+                + "recurrence TEXT, "
+                + "interval_days INTEGER NOT NULL DEFAULT 0, "
+                + "precision TEXT, "
+                + "window_millis INTEGER NOT NULL DEFAULT 0)");
+        db.execSQL("CREATE INDEX idx_alarms_deadline ON " + TABLE_ALARMS + " (deadline_millis)");
+    }
+
+    /**
+     * Creates the alarm delivery samples table. The ID increases monotonically, so the
+     * oldest samples are the ones with the lowest IDs.
+     *
+     * @param db the database being created or upgraded
+     */
+    private static void createAlarmDeliveriesTable(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_ALARM_DELIVERIES + " ("
+                + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + "deadline_millis INTEGER NOT NULL, "
+                + "received_wall INTEGER NOT NULL, "
+                + "received_elapsed INTEGER NOT NULL, "
+                + "lateness_millis INTEGER NOT NULL, "
+                + "mode TEXT, "
+                + "delivered INTEGER NOT NULL DEFAULT 0)");
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.booktrack;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import com.bumptech.glide.GlideBuilder;
+import com.bumptech.glide.annotation.GlideModule;
+import com.bumptech.glide.load.engine.cache.InternalCacheDiskCacheFactory;
+import com.bumptech.glide.load.engine.cache.MemorySizeCalculator;
+import com.bumptech.glide.module.AppGlideModule;
+
+/**
+ * Application-wide Glide configuration with explicit cache budgets.
+ * Book covers are the only images the app loads, and lists show a handful of small
+ * covers per screen, so the memory cache is sized in screens of covers and the disk
+ * cache keeps enough thumbnails that a library can be scrolled offline after one pass.
+ *
+ * <p>Key features include:
+ * <ul>
+ *   <li>Memory cache of {@value #MEMORY_CACHE_SCREENS} screens and a bitmap pool of
+ *       {@value #BITMAP_POOL_SCREENS} screens, capped by Glide's per-device memory limits</li>
+ *   <li>{@value #DISK_CACHE_MB} MB disk cache in the app's internal cache directory</li>
+ *   <li>Manifest module parsing disabled, since all configuration lives here</li>
+ * </ul></p>
+ *
+ * <p>List covers additionally use the decoding options of {@link ListCovers}.</p>
+ *
+ * @author BookTrack Development Team
+ * @version 1.0
+ * @since 1.0
+ */
+@GlideModule
+public class BookTrackGlideModule extends AppGlideModule {
+
+    /** Memory cache budget, in screens worth of bitmaps */
+    private static final float MEMORY_CACHE_SCREENS = 2f;
+
+    /** Bitmap pool budget, in screens worth of bitmaps */
+    private static final float BITMAP_POOL_SCREENS = 3f;
+
+    /** Disk cache budget in megabytes */
+    private static final int DISK_CACHE_MB = 100;
+
+    /**
+     * Applies the cache budgets to the Glide singleton.
+     *
+     * @param context the application context
+     * @param builder the builder used to create the Glide singleton
+     */
+    @Override
+    public void applyOptions(@NonNull Context context, @NonNull GlideBuilder builder) {
+        builder.setMemorySizeCalculator(new MemorySizeCalculator.Builder(context)
+                .setMemoryCacheScreens(MEMORY_CACHE_SCREENS)
+                .setBitmapPoolScreens(BITMAP_POOL_SCREENS)
+                .build());
+        builder.setDiskCache(new InternalCacheDiskCacheFactory(context, DISK_CACHE_MB * 1024L * 1024L));
+    }
+
+    /**
+     * Disables parsing of legacy manifest Glide modules.
+     *
+     * @return false, all configuration is done in this module
+     */
+    @Override
+    public boolean isManifestParsingEnabled() {
+        return false;
+    }
+}
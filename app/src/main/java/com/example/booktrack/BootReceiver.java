@@ -3,14 +3,11 @@ package com.example.booktrack;
 import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
-import android.content.SharedPreferences;
 import android.util.Log;
 
-import com.example.booktrack.AlarmItem;
-import com.example.booktrack.AlarmScheduler;
-import com.google.firebase.FirebaseApp;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * BroadcastReceiver that handles device boot completion to restore scheduled reading alarms.
@@ -20,22 +17,21 @@ import com.google.firebase.firestore.QueryDocumentSnapshot;
  * <p>The BootReceiver performs critical system restoration functions including:
  * <ul>
  *   <li>Detection of device boot completion events</li>
- *   <li>Firebase initialization for database connectivity</li>
- *   <li>User session validation through SharedPreferences</li>
- *   <li>Retrieval of all active alarms from Firestore</li>
- *   <li>Automatic cleanup of expired alarms discovered during boot</li>
- *   <li>Rescheduling of all valid future alarms through AlarmScheduler</li>
+ *   <li>Restoration of pending alarms from the local alarm journal</li>
+ *   <li>Automatic cleanup of alarms that expired while the device was off</li>
+ *   <li>Re-arming of the earliest pending alarm through AlarmRegistry</li>
+ *   <li>Queuing of a background sync with Firestore for when a network is available</li>
  * </ul></p>
  *
  * <p>This receiver ensures that users continue to receive their reading reminders
- * even after device restarts, power cycles, or system updates. It maintains the
- * integrity of the alarm system by performing database cleanup and selective
- * rescheduling based on current time validation.</p>
+ * even after device restarts, power cycles, or system updates. Alarms are restored from
+ * the {@link AlarmQueue} journal on disk, which every create, edit and delete writes
+ * through to, so no network access is needed right after boot when connectivity is
+ * often not yet available.</p>
  *
  * <p>The receiver operates in a background context immediately after boot,
  * requiring minimal system resources while ensuring complete alarm restoration.
- * It includes comprehensive error handling to gracefully manage connectivity
- * issues, invalid user sessions, and database access failures.</p>
+ * Disk access happens on a background thread within the time limit of {@code goAsync()}.</p>
  *
  * @author BookTrack Development Team
  * @version 1.0
@@ -43,47 +39,30 @@ import com.google.firebase.firestore.QueryDocumentSnapshot;
  */
 public class BootReceiver extends BroadcastReceiver {
 
+    /** Background thread used to read the alarm journal */
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor();
+
     /**
      * Called when the BroadcastReceiver receives the BOOT_COMPLETED intent.
      * This method handles the complete alarm restoration workflow including
-     * validation, cleanup, and rescheduling of all user alarms.
+     * validation, cleanup, and re-arming of all user alarms.
      *
      * <p>The restoration process follows these steps:
      * <ul>
      *   <li>Validation of the received intent action to ensure it's BOOT_COMPLETED</li>
-     *   <li>Firebase initialization for database connectivity in boot context</li>
-     *   <li>User session validation through SharedPreferences UID retrieval</li>
-     *   <li>Firestore query to fetch all alarms for the authenticated user</li>
-     *   <li>Iteration through all retrieved alarms for validation and processing</li>
-     *   <li>Automatic deletion of expired alarms to maintain database hygiene</li>
-     *   <li>Rescheduling of valid future alarms using AlarmScheduler</li>
-     *   <li>Comprehensive logging for successful operations and error conditions</li>
-     * </ul></p>
-     *
-     * <p>Validation and cleanup logic:
-     * <ul>
-     *   <li>Compares alarm deadline with current system time</li>
-     *   <li>Deletes expired alarms from Firestore to prevent accumulation</li>
-     *   <li>Only reschedules alarms with future deadlines</li>
-     *   <li>Maintains alarm count logging for debugging and monitoring</li>
-     * </ul></p>
-     *
-     * <p>Error handling covers:
-     * <ul>
-     *   <li>Non-boot intent actions (graceful early return)</li>
-     *   <li>Missing or invalid user session data</li>
-     *   <li>Firebase connectivity and authentication issues</li>
-     *   <li>Firestore query failures and timeout conditions</li>
-     *   <li>Individual alarm scheduling failures</li>
+     *   <li>Loading of the alarm journal on a background thread</li>
+     *   <li>Removal of alarms whose deadline passed while the device was off</li>
+     *   <li>Arming of the earliest remaining alarm with the system AlarmManager</li>
+     *   <li>Queuing of {@link AlarmSyncWorker} to reconcile with Firestore later</li>
      * </ul></p>
      *
-     * <p>This method operates asynchronously with Firebase operations to avoid
-     * blocking the boot process while ensuring complete alarm restoration.</p>
+     * <p>Expired alarms are only dropped locally; their Firestore documents are
+     * deleted by {@link ExpiredAlarmJanitorWorker}.</p>
      *
      * @param context The Context in which the receiver is running, providing access to system services
      * @param intent  The Intent being received, expected to contain ACTION_BOOT_COMPLETED action
      *
-     * @see AlarmScheduler#schedule(Context, AlarmItem)
+     * @see AlarmRegistry#takeDue(long)
      * @see Intent#ACTION_BOOT_COMPLETED
      */
     @Override
@@ -93,38 +72,22 @@ public class BootReceiver extends BroadcastReceiver {
             return;
         }
 
-        FirebaseApp.initializeApp(context);
-
-        SharedPreferences prefs = context.getSharedPreferences("BookTrackPrefs", Context.MODE_PRIVATE);
-        String uid = prefs.getString("uid", null);
-
-        if (uid == null) {
-            Log.e("BootReceiver", "No UID stored, skipping reschedule.");
-            return;
-        }
-
-        FirebaseFirestore.getInstance()
-                .collection("users")
-                .document(uid)
-                .collection("alarms")
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    Log.d("BootReceiver", "Fetched " + querySnapshot.size() + " alarms");
-
-                    for (QueryDocumentSnapshot doc : querySnapshot) {
-                        AlarmItem alarm = doc.toObject(AlarmItem.class);
-                        long millis = alarm.getDeadlineMillis();
-
-                        if (millis < System.currentTimeMillis()) {
-                            doc.getReference().delete();
-                            Log.d("BootReceiver", "Deleted expired alarm: " + alarm.getAlarmId());
-                            continue;
-                        }
+        Context appContext = context.getApplicationContext();
+        PendingResult result = goAsync();
+        executor.execute(() -> {
+            try {
+                AlarmRegistry registry = AlarmRegistry.getInstance(appContext);
+                List<AlarmQueue.Entry> expired = registry.takeDue(System.currentTimeMillis());
+                Log.i("BootReceiver", "Restored " + registry.getArmedAlarms().size() + " alarms, dropped "
+                        + expired.size() + " expired");
 
-                        AlarmScheduler.schedule(context, alarm);
-                        Log.i("BootReceiver", "Rescheduled alarm: " + millis);
-                    }
-                })
-                .addOnFailureListener(e -> Log.e("BootReceiver", "Failed to load alarms", e));
+                AlarmSyncWorker.enqueue(appContext);
+            } catch (RuntimeException e) {
+                Log.e("BootReceiver", "Failed to restore alarms", e);
+            } finally {
+                AlarmRegistry.getInstance(appContext).awaitWrites();
+                result.finish();
+            }
+        });
     }
-}
\ No newline at end of file
+}
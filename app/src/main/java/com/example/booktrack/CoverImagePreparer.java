@@ -0,0 +1,241 @@
+package com.example.booktrack;
+
+import android.content.ContentResolver;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Matrix;
+import android.media.ExifInterface;
+import android.net.Uri;
+import android.os.Build;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Prepares cover images for upload: decodes them at a bounded size, applies the camera's
+ * EXIF orientation and re-encodes them under a byte budget. A 4-12 MB camera JPEG becomes
+ * a few hundred kilobytes before anything reaches Firebase Storage.
+ *
+ * <p>Key features include:
+ * <ul>
+ *   <li>Power-of-two subsampled decoding, so full-resolution photos are never held in memory</li>
+ *   <li>EXIF orientation correction, so rotated camera photos upload upright</li>
+ *   <li>Configurable cap on the long edge</li>
+ *   <li>Lossy WebP encoding (JPEG before Android 11) that lowers quality, then size,
+ *       until the result fits the byte budget</li>
+ * </ul></p>
+ *
+ * <p>All methods block and must be called off the main thread.</p>
+ *
+ * @author BookTrack Development Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class CoverImagePreparer {
+
+    /** Quality the encoder starts from */
+    private static final int MAX_QUALITY = 90;
+
+    /** Lowest quality tried before the image is downscaled instead */
+    private static final int MIN_QUALITY = 50;
+
+    /** Quality decrement between encoding attempts */
+    private static final int QUALITY_STEP = 10;
+
+    /** Factor applied to both edges when the lowest quality still exceeds the budget */
+    private static final float DOWNSCALE_STEP = 0.75f;
+
+    /** Smallest long edge the budget loop scales down to */
+    private static final int MIN_LONG_EDGE = 64;
+
+    /**
+     * Not instantiable; all members are static.
+     */
+    private CoverImagePreparer() {}
+
+    /**
+     * Returns the MIME type of the bytes produced by {@link #encode(Bitmap, int)} on this device.
+     *
+     * @return {@code image/webp} on Android 11 and newer, {@code image/jpeg} otherwise
+     */
+    public static String contentType() {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.R ? "image/webp" : "image/jpeg";
+    }
+
+    /**
+     * Decodes an image upright and no larger than the given long edge.
+     *
+     * @param resolver    content resolver used to open the image
+     * @param uri         the image to decode
+     * @param maxLongEdge the maximum long edge of the result in pixels
+     * @return the decoded, oriented and capped bitmap
+     * @throws IOException if the image cannot be read or decoded
+     */
+    public static Bitmap decode(ContentResolver resolver, Uri uri, int maxLongEdge) throws IOException {
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        try (InputStream in = openStream(resolver, uri)) {
+            BitmapFactory.decodeStream(in, null, bounds);
+        }
+
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inSampleSize = sampleSize(Math.max(bounds.outWidth, bounds.outHeight), maxLongEdge);
+
+        Bitmap bitmap;
+        try (InputStream in = openStream(resolver, uri)) {
+            bitmap = BitmapFactory.decodeStream(in, null, options);
+        }
+        if (bitmap == null) throw new IOException("Unable to decode " + uri);
+
+        return scaleToLongEdge(applyOrientation(bitmap, readOrientation(resolver, uri)), maxLongEdge);
+    }
+
+    /**
+     * Returns the largest power-of-two sample size that still decodes an image at least as
+     * large as the given long edge, so the final scale step only ever scales down.
+     *
+     * @param longEdge    the long edge of the source image in pixels
+     * @param maxLongEdge the maximum long edge of the decoded image in pixels
+     * @return the sample size for {@link BitmapFactory.Options#inSampleSize}, at least 1
+     */
+    static int sampleSize(int longEdge, int maxLongEdge) {
+        int sampleSize = 1;
+        if (maxLongEdge <= 0) return sampleSize;
+        while (longEdge / (sampleSize * 2) >= maxLongEdge) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    /**
+     * Scales a bitmap down so its long edge fits the given size, keeping the aspect ratio.
+     *
+     * @param source   the bitmap to scale
+     * @param longEdge the maximum long edge in pixels
+     * @return the scaled bitmap, or the source itself if it is already small enough
+     */
+    public static Bitmap scaleToLongEdge(Bitmap source, int longEdge) {
+        int sourceLongEdge = Math.max(source.getWidth(), source.getHeight());
+        if (sourceLongEdge <= longEdge) return source;
+
+        float scale = (float) longEdge / sourceLongEdge;
+        return Bitmap.createScaledBitmap(source,
+                Math.max(1, Math.round(source.getWidth() * scale)),
+                Math.max(1, Math.round(source.getHeight() * scale)),
+                true);
+    }
+
+    /**
+     * Encodes a bitmap so the result fits the byte budget. Quality is lowered first; if the
+     * lowest quality is still too large, the image is downscaled and encoded again.
+     *
+     * @param bitmap   the bitmap to encode
+     * @param maxBytes the byte budget of the encoded image
+     * @return the encoded bytes, in the format reported by {@link #contentType()}
+     */
+    public static byte[] encode(Bitmap bitmap, int maxBytes) {
+        Bitmap current = bitmap;
+        while (true) {
+            byte[] encoded = null;
+            for (int quality = MAX_QUALITY; quality >= MIN_QUALITY; quality -= QUALITY_STEP) {
+                encoded = compress(current, quality);
+                if (encoded.length <= maxBytes) return encoded;
+            }
+
+            int longEdge = Math.round(Math.max(current.getWidth(), current.getHeight()) * DOWNSCALE_STEP);
+            if (longEdge < MIN_LONG_EDGE) return encoded;
+            current = scaleToLongEdge(current, longEdge);
+        }
+    }
+
+    /**
+     * Compresses a bitmap once at the given quality.
+     *
+     * @param bitmap  the bitmap to compress
+     * @param quality the encoder quality, 0-100
+     * @return the encoded bytes
+     */
+    @SuppressWarnings("deprecation")
+    private static byte[] compress(Bitmap bitmap, int quality) {
+        Bitmap.CompressFormat format = Build.VERSION.SDK_INT >= Build.VERSION_CODES.R
+                ? Bitmap.CompressFormat.WEBP_LOSSY
+                : Bitmap.CompressFormat.JPEG;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bitmap.compress(format, quality, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Reads the EXIF orientation of an image.
+     *
+     * @param resolver content resolver used to open the image
+     * @param uri      the image
+     * @return the EXIF orientation, or {@link ExifInterface#ORIENTATION_NORMAL} if unknown
+     */
+    private static int readOrientation(ContentResolver resolver, Uri uri) {
+        try (InputStream in = openStream(resolver, uri)) {
+            return new ExifInterface(in).getAttributeInt(
+                    ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL);
+        } catch (IOException e) {
+            // Formats without EXIF (PNG, WebP from other apps) are already upright
+            return ExifInterface.ORIENTATION_NORMAL;
+        }
+    }
+
+    /**
+     * Rotates and/or mirrors a bitmap according to its EXIF orientation.
+     *
+     * @param bitmap      the decoded bitmap
+     * @param orientation the EXIF orientation of the source image
+     * @return the upright bitmap, or the input itself if no transform is needed
+     */
+    private static Bitmap applyOrientation(Bitmap bitmap, int orientation) {
+        Matrix matrix = new Matrix();
+        switch (orientation) {
+            case ExifInterface.ORIENTATION_FLIP_HORIZONTAL:
+                matrix.setScale(-1, 1);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_180:
+                matrix.setRotate(180);
+                break;
+            case ExifInterface.ORIENTATION_FLIP_VERTICAL:
+                matrix.setScale(1, -1);
+                break;
+            case ExifInterface.ORIENTATION_TRANSPOSE:
+                matrix.setRotate(90);
+                matrix.postScale(-1, 1);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_90:
+                matrix.setRotate(90);
+                break;
+            case ExifInterface.ORIENTATION_TRANSVERSE:
+                matrix.setRotate(-90);
+                matrix.postScale(-1, 1);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_270:
+                matrix.setRotate(-90);
+                break;
+            default:
+                return bitmap;
+        }
+        Bitmap rotated = Bitmap.createBitmap(bitmap, 0, 0, bitmap.getWidth(), bitmap.getHeight(), matrix, true);
+        if (rotated != bitmap) bitmap.recycle();
+        return rotated;
+    }
+
+    /**
+     * Opens an input stream for a content or file URI.
+     *
+     * @param resolver content resolver used to open the image
+     * @param uri      the image to open
+     * @return the opened stream
+     * @throws FileNotFoundException if the URI cannot be opened
+     */
+    private static InputStream openStream(ContentResolver resolver, Uri uri) throws FileNotFoundException {
+        InputStream in = resolver.openInputStream(uri);
+        if (in == null) throw new FileNotFoundException("Unable to open " + uri);
+        return in;
+    }
+}
@@ -0,0 +1,291 @@
+package com.example.booktrack;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.net.Uri;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistent background job uploading a book cover and attaching it to the book.
+ * Screens that save a book write the Firestore document right away and hand the cover
+ * to this worker, so a slow or failed upload never blocks or loses the book itself.
+ *
+ * <p>The selected image is first staged in app-private storage, because content URIs
+ * from the gallery stop being readable once the activity that received them is gone.
+ * WorkManager then runs the upload when a network is available, reruns it after process
+ * death, and retries failures with exponential backoff. Every attempt of one job uploads
+ * to the same Storage folder, so retries overwrite rather than duplicate objects.</p>
+ *
+ * <p>Key features include:
+ * <ul>
+ *   <li>One unique job per book; a newer cover replaces a pending one</li>
+ *   <li>Network constraint and exponential backoff</li>
+ *   <li>Patching of {@code imageUrl}/{@code thumbUrl} once the upload finished</li>
+ *   <li>Propagation of the new cover to the book's goals and alarms through {@link BookFanOut}</li>
+ *   <li>Deletion of the uploaded cover if the book was deleted meanwhile</li>
+ * </ul></p>
+ *
+ * @author BookTrack Development Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class CoverUploadWorker extends Worker {
+
+    /** Input key holding the ID of the user owning the book */
+    private static final String KEY_UID = "uid";
+
+    /** Input key holding the Firestore document ID of the book */
+    private static final String KEY_BOOK_ID = "book_id";
+
+    /** Input key holding the ID of the cover, naming its Storage folder and staged file */
+    private static final String KEY_COVER_ID = "cover_id";
+
+    /** Attempts after which a failing upload is abandoned */
+    private static final int MAX_ATTEMPTS = 10;
+
+    /** Initial backoff delay in seconds; doubled after every failed attempt */
+    private static final long BACKOFF_SECONDS = 30;
+
+    /** Directory in app-private storage holding staged covers */
+    private static final String STAGING_DIR = "pending_covers";
+
+    /** Background thread used to stage images before the job is enqueued */
+    private static final ExecutorService stagingExecutor = Executors.newSingleThreadExecutor();
+
+    /**
+     * Creates the worker. Instantiated by WorkManager.
+     *
+     * @param context      the application context
+     * @param workerParams parameters of this run
+     */
+    public CoverUploadWorker(@NonNull Context context, @NonNull WorkerParameters workerParams) {
+        super(context, workerParams);
+    }
+
+    /**
+     * Stages an image picked from the gallery and queues its upload for the given book.
+     *
+     * @param context  any context; only its application context is retained
+     * @param uid      the ID of the signed-in user
+     * @param bookId   the Firestore document ID of the book
+     * @param imageUri content URI of the selected image
+     */
+    public static void enqueue(Context context, String uid, String bookId, Uri imageUri) {
+        Context appContext = context.getApplicationContext();
+        stagingExecutor.execute(() -> {
+            String coverId = UUID.randomUUID().toString();
+            File staged = stagedFile(appContext, coverId);
+            try (InputStream in = appContext.getContentResolver().openInputStream(imageUri);
+                 OutputStream out = new FileOutputStream(staged)) {
+                if (in == null) throw new IOException("Unable to open " + imageUri);
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+            } catch (IOException e) {
+                Log.e("CoverUploadWorker", "Failed to stage cover for book " + bookId, e);
+                staged.delete();
+                return;
+            }
+            schedule(appContext, uid, bookId, coverId);
+        });
+    }
+
+    /**
+     * Stages a photo captured by the camera and queues its upload for the given book.
+     *
+     * @param context any context; only its application context is retained
+     * @param uid     the ID of the signed-in user
+     * @param bookId  the Firestore document ID of the book
+     * @param bitmap  the captured photo; it must not be recycled by the caller
+     */
+    public static void enqueue(Context context, String uid, String bookId, Bitmap bitmap) {
+        Context appContext = context.getApplicationContext();
+        stagingExecutor.execute(() -> {
+            String coverId = UUID.randomUUID().toString();
+            File staged = stagedFile(appContext, coverId);
+            try (OutputStream out = new FileOutputStream(staged)) {
+                bitmap.compress(Bitmap.CompressFormat.JPEG, 90, out);
+            } catch (IOException e) {
+                Log.e("CoverUploadWorker", "Failed to stage cover for book " + bookId, e);
+                staged.delete();
+                return;
+            }
+            schedule(appContext, uid, bookId, coverId);
+        });
+    }
+
+    /**
+     * Cancels a pending cover upload, e.g. because the book is being deleted.
+     * The staged file of a cancelled job is cleaned up the next time a cover is staged.
+     *
+     * @param context any context
+     * @param bookId  the Firestore document ID of the book
+     */
+    public static void cancel(Context context, String bookId) {
+        WorkManager.getInstance(context.getApplicationContext()).cancelUniqueWork(workName(bookId));
+    }
+
+    /**
+     * Uploads the staged cover and attaches it to the book. Runs on a WorkManager thread.
+     *
+     * @return success once the book was patched or no longer exists, retry on transient failures
+     */
+    @NonNull
+    @Override
+    public Result doWork() {
+        String uid = getInputData().getString(KEY_UID);
+        String bookId = getInputData().getString(KEY_BOOK_ID);
+        String coverId = getInputData().getString(KEY_COVER_ID);
+        if (uid == null || bookId == null || coverId == null) return Result.failure();
+
+        File staged = stagedFile(getApplicationContext(), coverId);
+        if (!staged.exists()) {
+            Log.w("CoverUploadWorker", "Staged cover missing for book " + bookId);
+            return Result.failure();
+        }
+
+        DocumentReference bookRef = FirebaseFirestore.getInstance()
+                .collection("users")
+                .document(uid)
+                .collection("books")
+                .document(bookId);
+
+        try {
+            CoverUploader.CoverUrls urls = Tasks.await(
+                    CoverUploader.upload(getApplicationContext(), Uri.fromFile(staged), coverId));
+
+            DocumentSnapshot book = Tasks.await(bookRef.get());
+            if (!book.exists()) {
+                // The book was deleted while its cover was uploading
+                CoverUploader.delete(urls.imageUrl, urls.thumbUrl);
+            } else {
+                Tasks.await(bookRef.update(
+                        "imageUrl", urls.imageUrl,
+                        "thumbUrl", urls.thumbUrl,
+                        "updatedAt", System.currentTimeMillis()));
+                propagateCover(uid, bookId, urls);
+            }
+            staged.delete();
+            return Result.success();
+        } catch (Exception e) {
+            if (getRunAttemptCount() + 1 < MAX_ATTEMPTS) {
+                Log.w("CoverUploadWorker", "Cover upload failed for book " + bookId + ", retrying", e);
+                return Result.retry();
+            }
+            Log.e("CoverUploadWorker", "Cover upload abandoned for book " + bookId, e);
+            staged.delete();
+            return Result.failure();
+        }
+    }
+
+    /**
+     * Copies the new cover URLs into the book's goals and alarms. A failure is only logged:
+     * the book already has its cover, and retrying would upload it again.
+     *
+     * @param uid    the ID of the signed-in user
+     * @param bookId the Firestore document ID of the book
+     * @param urls   the URLs of the uploaded cover
+     */
+    private void propagateCover(String uid, String bookId, CoverUploader.CoverUrls urls) {
+        try {
+            Tasks.await(BookFanOut.propagate(getApplicationContext(), uid, bookId,
+                    BookFanOut.coverChanges(urls.imageUrl, urls.thumbUrl)));
+        } catch (Exception e) {
+            Log.w("CoverUploadWorker", "Failed to propagate cover of book " + bookId, e);
+        }
+    }
+
+    /**
+     * Enqueues the upload job for a staged cover, replacing any pending job for the same book.
+     *
+     * @param context the application context
+     * @param uid     the ID of the signed-in user
+     * @param bookId  the Firestore document ID of the book
+     * @param coverId the ID of the staged cover
+     */
+    private static void schedule(Context context, String uid, String bookId, String coverId) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(CoverUploadWorker.class)
+                .setInputData(new Data.Builder()
+                        .putString(KEY_UID, uid)
+                        .putString(KEY_BOOK_ID, bookId)
+                        .putString(KEY_COVER_ID, coverId)
+                        .build())
+                .setConstraints(new Constraints.Builder()
+                        .setRequiredNetworkType(NetworkType.CONNECTED)
+                        .build())
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, BACKOFF_SECONDS, TimeUnit.SECONDS)
+                .build();
+
+        WorkManager.getInstance(context).enqueueUniqueWork(workName(bookId), ExistingWorkPolicy.REPLACE, request);
+        deleteOrphanedFiles(context, coverId);
+    }
+
+    /**
+     * Deletes staged files left behind by replaced or cancelled jobs.
+     * Only files older than a week are removed, well past the retry schedule of a queued job.
+     *
+     * @param context the application context
+     * @param keepId  cover ID of the file just staged
+     */
+    private static void deleteOrphanedFiles(Context context, String keepId) {
+        File[] files = new File(context.getFilesDir(), STAGING_DIR).listFiles();
+        if (files == null) return;
+        long cutoff = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(7);
+        for (File file : files) {
+            if (!file.getName().startsWith(keepId) && file.lastModified() < cutoff) {
+                file.delete();
+            }
+        }
+    }
+
+    /**
+     * Returns the staging file of a cover, creating the staging directory if needed.
+     *
+     * @param context the application context
+     * @param coverId the ID of the cover
+     * @return the file holding the staged image
+     */
+    private static File stagedFile(Context context, String coverId) {
+        File dir = new File(context.getFilesDir(), STAGING_DIR);
+        dir.mkdirs();
+        return new File(dir, coverId + ".img");
+    }
+
+    /**
+     * Returns the unique work name of a book's cover upload.
+     *
+     * @param bookId the Firestore document ID of the book
+     * @return the unique work name
+     */
+    private static String workName(String bookId) {
+        return "cover-upload-" + bookId;
+    }
+}
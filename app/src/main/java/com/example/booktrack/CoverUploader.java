@@ -0,0 +1,230 @@
+package com.example.booktrack;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.net.Uri;
+import android.util.Log;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.storage.FirebaseStorage;
+import com.google.firebase.storage.StorageMetadata;
+import com.google.firebase.storage.StorageReference;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Uploads book covers to Firebase Storage as three variants sharing one folder:
+ * a small list thumbnail, a detail-size image and a size-capped original.
+ * Lists download only the thumbnail, which is an order of magnitude smaller than
+ * the full photo they used to fetch for an 80x110dp cover.
+ *
+ * <p>Every variant is produced by {@link CoverImagePreparer} from one upright,
+ * subsampled decode and encoded under its own byte budget.</p>
+ *
+ * <p>Key features include:
+ * <ul>
+ *   <li>Variant preparation and encoding on a background thread</li>
+ *   <li>Parallel, idempotent upload of all variants under {@code book_images/{coverId}/}</li>
+ *   <li>Variant selection by target view size for image loading</li>
+ *   <li>Deletion of every variant of a cover</li>
+ * </ul></p>
+ *
+ * @author BookTrack Development Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class CoverUploader {
+
+    /**
+     * Long edge in pixels of the list thumbnail; covers the 110dp list cover up to xxxhdpi
+     * (4x), the highest density the app ships resources for
+     */
+    public static final int THUMB_LONG_EDGE = 440;
+
+    /** Long edge in pixels of the detail-size variant */
+    public static final int DETAIL_LONG_EDGE = 1080;
+
+    /** Long edge in pixels the original is capped at */
+    public static final int ORIGINAL_LONG_EDGE = 2048;
+
+    /** Byte budget of the thumbnail */
+    public static final int THUMB_MAX_BYTES = 50 * 1024;
+
+    /** Byte budget of the detail-size variant */
+    public static final int DETAIL_MAX_BYTES = 200 * 1024;
+
+    /** Byte budget of the capped original */
+    public static final int ORIGINAL_MAX_BYTES = 600 * 1024;
+
+    /** Base name of the thumbnail inside a cover folder */
+    private static final String THUMB_NAME = "thumb";
+
+    /** Base name of the detail-size variant inside a cover folder */
+    private static final String DETAIL_NAME = "detail";
+
+    /** Base name of the original image inside a cover folder */
+    private static final String ORIGINAL_NAME = "original";
+
+    /** Background thread used to decode and encode cover images */
+    private static final ExecutorService encodeExecutor = Executors.newSingleThreadExecutor();
+
+    /**
+     * Uploads a cover image. Uploads are idempotent per cover ID: a retried upload
+     * overwrites the objects of the previous attempt instead of leaving orphans behind.
+     *
+     * @param context  any context, used to read the image
+     * @param imageUri URI of the image to upload, typically a file staged by {@link CoverUploadWorker}
+     * @param coverId  stable ID of the cover, naming its Storage folder
+     * @return a task resolving to the download URLs of the new cover
+     */
+    public static Task<CoverUrls> upload(Context context, Uri imageUri, String coverId) {
+        ContentResolver resolver = context.getApplicationContext().getContentResolver();
+        StorageReference folder = FirebaseStorage.getInstance().getReference().child("book_images/" + coverId);
+
+        return Tasks.call(encodeExecutor, () -> {
+            Bitmap original = CoverImagePreparer.decode(resolver, imageUri, ORIGINAL_LONG_EDGE);
+            return new byte[][]{
+                    CoverImagePreparer.encode(
+                            CoverImagePreparer.scaleToLongEdge(original, THUMB_LONG_EDGE), THUMB_MAX_BYTES),
+                    CoverImagePreparer.encode(
+                            CoverImagePreparer.scaleToLongEdge(original, DETAIL_LONG_EDGE), DETAIL_MAX_BYTES),
+                    CoverImagePreparer.encode(original, ORIGINAL_MAX_BYTES)
+            };
+        }).onSuccessTask(variants -> uploadVariants(folder, variants[0], variants[1], variants[2]));
+    }
+
+    /**
+     * Returns whether a book has any cover variant to load.
+     *
+     * @param thumbUrl the thumbnail URL, may be null
+     * @param imageUrl the detail-size image URL, may be null
+     * @return true if at least one of the URLs is set
+     */
+    public static boolean hasCover(String thumbUrl, String imageUrl) {
+        return urlFor(thumbUrl, imageUrl, 0) != null;
+    }
+
+    /**
+     * Picks the cover variant that matches the size of the view it is loaded into.
+     * The view's measured size is used once it has been laid out, otherwise its fixed layout
+     * size; {@code match_parent} and {@code wrap_content} views that are not laid out yet
+     * count as unsized. Views no larger than the thumbnail get the thumbnail; larger or
+     * unsized views, and books uploaded before thumbnails existed, get the detail-size image.
+     *
+     * @param thumbUrl the thumbnail URL, may be null
+     * @param imageUrl the detail-size image URL, may be null
+     * @param target   the view the cover will be displayed in
+     * @return the URL to load, or null if the book has no cover
+     */
+    public static String urlFor(String thumbUrl, String imageUrl, ImageView target) {
+        int targetSize = Math.max(target.getWidth(), target.getHeight());
+        ViewGroup.LayoutParams params = target.getLayoutParams();
+        if (targetSize == 0 && params != null && params.width > 0 && params.height > 0) {
+            targetSize = Math.max(params.width, params.height);
+        }
+        return urlFor(thumbUrl, imageUrl, targetSize);
+    }
+
+    /**
+     * Picks the cover variant for a target of known size, e.g. for preloading ahead of binding.
+     *
+     * @param thumbUrl   the thumbnail URL, may be null
+     * @param imageUrl   the detail-size image URL, may be null
+     * @param targetSize the long edge of the target in pixels, or 0 if unknown
+     * @return the URL to load, or null if the book has no cover
+     */
+    public static String urlFor(String thumbUrl, String imageUrl, int targetSize) {
+        boolean hasThumb = thumbUrl != null && !thumbUrl.isEmpty();
+
+        if (hasThumb && targetSize > 0 && targetSize <= THUMB_LONG_EDGE) return thumbUrl;
+        if (imageUrl != null && !imageUrl.isEmpty()) return imageUrl;
+        return hasThumb ? thumbUrl : null;
+    }
+
+    /**
+     * Deletes every variant of a cover from Firebase Storage. Failures are only logged.
+     *
+     * @param imageUrl the detail-size image URL, or null if the book had no cover
+     * @param thumbUrl the thumbnail URL, or null for covers uploaded before thumbnails existed
+     */
+    public static void delete(String imageUrl, String thumbUrl) {
+        FirebaseStorage storage = FirebaseStorage.getInstance();
+        if (thumbUrl != null && !thumbUrl.isEmpty()) {
+            deleteQuietly(storage.getReferenceFromUrl(thumbUrl));
+        }
+        if (imageUrl == null || imageUrl.isEmpty()) return;
+
+        StorageReference image = storage.getReferenceFromUrl(imageUrl);
+        deleteQuietly(image);
+        // Covers uploaded as variants keep the original next to the detail image
+        String name = image.getName();
+        if (name.startsWith(DETAIL_NAME + ".") && image.getParent() != null) {
+            deleteQuietly(image.getParent().child(ORIGINAL_NAME + name.substring(DETAIL_NAME.length())));
+        }
+    }
+
+    /**
+     * Uploads the prepared variants in parallel and resolves their download URLs.
+     *
+     * @param folder   the cover folder
+     * @param thumb    encoded thumbnail
+     * @param detail   encoded detail-size variant
+     * @param original encoded, size-capped original
+     * @return a task resolving once all three uploads succeeded
+     */
+    private static Task<CoverUrls> uploadVariants(StorageReference folder, byte[] thumb, byte[] detail,
+                                                  byte[] original) {
+        String contentType = CoverImagePreparer.contentType();
+        String extension = contentType.equals("image/webp") ? ".webp" : ".jpg";
+        StorageMetadata metadata = new StorageMetadata.Builder().setContentType(contentType).build();
+
+        StorageReference thumbRef = folder.child(THUMB_NAME + extension);
+        StorageReference detailRef = folder.child(DETAIL_NAME + extension);
+        Task<Uri> thumbUrl = thumbRef.putBytes(thumb, metadata)
+                .onSuccessTask(snapshot -> thumbRef.getDownloadUrl());
+        Task<Uri> detailUrl = detailRef.putBytes(detail, metadata)
+                .onSuccessTask(snapshot -> detailRef.getDownloadUrl());
+        Task<?> originalUpload = folder.child(ORIGINAL_NAME + extension).putBytes(original, metadata);
+
+        return Tasks.whenAllSuccess(thumbUrl, detailUrl, originalUpload)
+                .onSuccessTask(results -> Tasks.forResult(new CoverUrls(
+                        detailUrl.getResult().toString(), thumbUrl.getResult().toString())));
+    }
+
+    /**
+     * Deletes a Storage object, logging failures.
+     *
+     * @param ref the object to delete
+     */
+    private static void deleteQuietly(StorageReference ref) {
+        ref.delete().addOnFailureListener(e -> Log.w("CoverUploader", "Cover deletion failed: " + ref.getPath(), e));
+    }
+
+    /**
+     * Download URLs of an uploaded cover.
+     */
+    public static class CoverUrls {
+
+        /** URL of the detail-size variant, stored as the book's {@code imageUrl} */
+        public final String imageUrl;
+
+        /** URL of the list thumbnail, stored as the book's {@code thumbUrl} */
+        public final String thumbUrl;
+
+        /**
+         * Creates the URL pair.
+         *
+         * @param imageUrl URL of the detail-size variant
+         * @param thumbUrl URL of the list thumbnail
+         */
+        CoverUrls(String imageUrl, String thumbUrl) {
+            this.imageUrl = imageUrl;
+            this.thumbUrl = thumbUrl;
+        }
+    }
+}
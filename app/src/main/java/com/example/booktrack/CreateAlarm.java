@@ -15,6 +15,7 @@ import android.os.Bundle;
 import android.os.PowerManager;
 import android.provider.Settings;
 import android.view.View;
+import android.widget.AdapterView;
 import android.widget.ArrayAdapter;
 import android.widget.Button;
 import android.widget.CheckBox;
@@ -55,7 +56,7 @@ import java.util.UUID;
  *   <li>Customizable alarm messages and purposes</li>
  *   <li>Battery optimization permission handling</li>
  *   <li>Notification channel creation and management</li>
- *   <li>Integration with AlarmScheduler for system-level alarm scheduling</li>
+ *   <li>Integration with AlarmRegistry for system-level alarm scheduling</li>
  *   <li>Optional goal creation linked to the alarm</li>
  * </ul>
  *
@@ -115,42 +116,47 @@ public class CreateAlarm extends AppCompatActivity {
     private Spinner bookSpinner;
 
     /**
-     * List containing all books loaded from Firebase Firestore.
+     * Spinner for choosing whether and how the alarm repeats.
      */
-    private final List<Book> bookList = new ArrayList<>();
+    private Spinner repeatSpinner;
 
     /**
-     * ArrayAdapter for populating the book spinner with book data.
+     * Container of the interval input, shown only for the "every few days" rule.
      */
-    private ArrayAdapter<Book> bookAdapter;
+    private View intervalDaysLayout;
 
     /**
-     * Calendar instance holding the user's selected alarm date and time.
+     * EditText for entering the number of days between occurrences.
      */
-    private final Calendar selectedCalendar = Calendar.getInstance();
+    private EditText intervalDaysInput;
+
+    /**
+     * Spinner for choosing how precisely the alarm must be delivered.
+     */
+    private Spinner precisionSpinner;
 
     /**
-     * Flag indicating whether alarm scheduling should occur after permission is granted.
+     * List containing all books loaded from Firebase Firestore.
      */
-    private boolean shouldScheduleAfterPermission = false;
+    private final List<Book> bookList = new ArrayList<>();
 
     /**
-     * Temporarily stored book name for post-permission alarm scheduling.
+     * ArrayAdapter for populating the book spinner with book data.
      */
-    private String pendingBookName;
+    private ArrayAdapter<Book> bookAdapter;
 
     /**
-     * Temporarily stored alarm message for post-permission alarm scheduling.
+     * Calendar instance holding the user's selected alarm date and time.
      */
-    private String pendingMessage;
+    private final Calendar selectedCalendar = Calendar.getInstance();
 
     /**
-     * Temporarily stored alarm ID for post-permission alarm scheduling.
+     * Book of the saved alarm, kept while the notification permission is requested.
      */
-    private String pendingAlarmId;
+    private Book pendingBook;
 
     /**
-     * Temporarily stored trigger time for post-permission alarm scheduling.
+     * Trigger time of the saved alarm, kept while the notification permission is requested.
      */
     private long pendingTriggerMillis;
 
@@ -211,11 +217,27 @@ public class CreateAlarm extends AppCompatActivity {
         addGoalCheckbox = findViewById(R.id.add_goal_checkbox);
         addAlarmButton = findViewById(R.id.add_alarm_button);
         bookSpinner = findViewById(R.id.book_spinner);
+        repeatSpinner = findViewById(R.id.repeat_spinner);
+        intervalDaysLayout = findViewById(R.id.interval_days_layout);
+        intervalDaysInput = findViewById(R.id.interval_days_input);
+        precisionSpinner = findViewById(R.id.precision_spinner);
 
         // Setup book spinner adapter
         bookAdapter = new ArrayAdapter<>(this, android.R.layout.simple_spinner_dropdown_item, bookList);
         bookAdapter.setDropDownViewResource(R.layout.spinner_items);
         bookSpinner.setAdapter(bookAdapter);
+
+        // Setup repeat spinner adapter
+        ArrayAdapter<String> repeatAdapter = new ArrayAdapter<>(this,
+                android.R.layout.simple_spinner_dropdown_item, AlarmRecurrence.LABELS);
+        repeatAdapter.setDropDownViewResource(R.layout.spinner_items);
+        repeatSpinner.setAdapter(repeatAdapter);
+
+        // Setup precision spinner adapter
+        ArrayAdapter<String> precisionAdapter = new ArrayAdapter<>(this,
+                android.R.layout.simple_spinner_dropdown_item, AlarmPrecision.LABELS);
+        precisionAdapter.setDropDownViewResource(R.layout.spinner_items);
+        precisionSpinner.setAdapter(precisionAdapter);
     }
 
     /**
@@ -242,6 +264,18 @@ public class CreateAlarm extends AppCompatActivity {
         purposeGroup.setOnCheckedChangeListener((group, checkedId) ->
                 otherMessageInput.setVisibility(checkedId == R.id.other_radio ? View.VISIBLE : View.GONE));
 
+        // Show the interval input only for the "every few days" rule
+        repeatSpinner.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+            @Override
+            public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                boolean interval = AlarmRecurrence.RULES[position].equals(AlarmRecurrence.INTERVAL);
+                intervalDaysLayout.setVisibility(interval ? View.VISIBLE : View.GONE);
+            }
+
+            @Override
+            public void onNothingSelected(AdapterView<?> parent) {}
+        });
+
         addAlarmButton.setOnClickListener(v -> createAlarm());
     }
 
@@ -307,6 +341,7 @@ public class CreateAlarm extends AppCompatActivity {
      *   <li>Book selection verification</li>
      *   <li>Future date/time validation</li>
      *   <li>Purpose selection and custom message validation</li>
+     *   <li>Repeat rule selection and interval validation</li>
      *   <li>User authentication verification</li>
      * </ul>
      */
@@ -341,6 +376,23 @@ public class CreateAlarm extends AppCompatActivity {
             return;
         }
 
+        // Determine the recurrence rule
+        String recurrence = AlarmRecurrence.RULES[repeatSpinner.getSelectedItemPosition()];
+        int intervalDays = 0;
+        if (recurrence.equals(AlarmRecurrence.INTERVAL)) {
+            try {
+                intervalDays = Integer.parseInt(intervalDaysInput.getText().toString().trim());
+            } catch (NumberFormatException e) {
+                intervalDays = 0;
+            }
+            if (intervalDays < 1) {
+                Toast.makeText(this, "Please enter the number of days", Toast.LENGTH_SHORT).show();
+                return;
+            }
+        }
+        // A weekday series picked on a weekend starts on the following Monday
+        deadlineMillis = AlarmRecurrence.nextOccurrence(recurrence, intervalDays, deadlineMillis, deadlineMillis - 1);
+
         // Validate user authentication
         FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
         if (user == null) {
@@ -353,6 +405,14 @@ public class CreateAlarm extends AppCompatActivity {
         String alarmId = UUID.randomUUID().toString();
         AlarmItem alarm = new AlarmItem(alarmId, selectedBook.getDocId(), selectedBook.getName(),
                 selectedBook.getImageUrl(), deadlineMillis, purpose);
+        alarm.setBookThumbUrl(selectedBook.getThumbUrl());
+        if (!recurrence.equals(AlarmRecurrence.NONE)) {
+            alarm.setRecurrence(recurrence);
+            alarm.setIntervalDays(intervalDays);
+        }
+        int precisionIndex = precisionSpinner.getSelectedItemPosition();
+        alarm.setPrecision(AlarmPrecision.PRECISIONS[precisionIndex]);
+        alarm.setWindowMillis(AlarmPrecision.WINDOWS[precisionIndex]);
 
         FirebaseFirestore.getInstance()
                 .collection("users")
@@ -362,7 +422,7 @@ public class CreateAlarm extends AppCompatActivity {
                 .set(alarm)
                 .addOnSuccessListener(unused -> {
                     Toast.makeText(this, "Alarm saved", Toast.LENGTH_SHORT).show();
-                    handlePostSave(selectedBook, deadlineMillis, alarmId, purpose);
+                    handlePostSave(selectedBook, alarm);
                 })
                 .addOnFailureListener(e -> {
                     Toast.makeText(this, "Failed to save alarm", Toast.LENGTH_SHORT).show();
@@ -372,41 +432,46 @@ public class CreateAlarm extends AppCompatActivity {
 
     /**
      * Handles post-save operations after successfully saving an alarm to Firestore.
-     * Manages notification permissions, schedules the system alarm, and optionally
-     * navigates to goal creation if the user requested it.
+     * Schedules the alarm through the AlarmRegistry, requests the notification permission
+     * if needed, and optionally navigates to goal creation if the user requested it.
      *
-     * @param book The selected book for the alarm
-     * @param deadlineMillis The alarm trigger time in milliseconds
-     * @param alarmId The unique identifier for the created alarm
-     * @param message The alarm message/purpose
+     * @param book  The selected book for the alarm
+     * @param alarm The saved alarm
      */
-    private void handlePostSave(Book book, long deadlineMillis, String alarmId, String message) {
-        // Store pending data for permission callback
-        pendingBookName = book.getName();
-        pendingMessage = message;
-        pendingAlarmId = alarmId;
-        pendingTriggerMillis = deadlineMillis;
+    private void handlePostSave(Book book, AlarmItem alarm) {
+        // The alarm is scheduled either way; the permission only decides whether it can notify
+        AlarmRegistry.getInstance(this).schedule(alarm);
 
         // Check notification permission for Android 13+
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU &&
                 ContextCompat.checkSelfPermission(this, Manifest.permission.POST_NOTIFICATIONS)
                         != PackageManager.PERMISSION_GRANTED) {
-            shouldScheduleAfterPermission = true;
+            pendingBook = book;
+            pendingTriggerMillis = alarm.getDeadlineMillis();
             requestPermissions(new String[]{Manifest.permission.POST_NOTIFICATIONS}, 101);
             return;
         }
 
-        // Schedule the alarm
-        AlarmScheduler.schedule(this, new AlarmItem(alarmId, book.getDocId(), book.getName(),
-                book.getImageUrl(), deadlineMillis, message));
+        finishCreation(book, alarm.getDeadlineMillis());
+    }
 
+    /**
+     * Closes the screen, first opening goal creation for the same book if the user requested it.
+     *
+     * @param book           The selected book for the alarm
+     * @param deadlineMillis The alarm trigger time in milliseconds
+     */
+    private void finishCreation(Book book, long deadlineMillis) {
         // Navigate to goal creation if requested
         if (addGoalCheckbox.isChecked()) {
             Intent goalIntent = new Intent(this, CreateGoal.class);
             goalIntent.putExtra("bookName", book.getName());
             goalIntent.putExtra("deadlineMillis", deadlineMillis);
             goalIntent.putExtra("bookImageUrl", book.getImageUrl());
+            goalIntent.putExtra("bookThumbUrl", book.getThumbUrl());
             goalIntent.putExtra("bookId", book.getDocId());
+            goalIntent.putExtra("pageCount", book.getPageCount());
+            goalIntent.putExtra("currentPage", book.getCurrentPage());
             startActivity(goalIntent);
         }
 
@@ -432,7 +497,8 @@ public class CreateAlarm extends AppCompatActivity {
 
     /**
      * Handles the result of permission requests, specifically for notification permissions.
-     * If notification permission is granted and there's a pending alarm, schedules the alarm.
+     * The alarm is already scheduled at this point; once the user answered, the screen
+     * continues with goal creation or closes.
      *
      * @param requestCode The request code passed to requestPermissions()
      * @param permissions The requested permissions (never null)
@@ -441,15 +507,15 @@ public class CreateAlarm extends AppCompatActivity {
     @Override
     public void onRequestPermissionsResult(int requestCode, @NonNull String[] permissions, @NonNull int[] grantResults) {
         super.onRequestPermissionsResult(requestCode, permissions, grantResults);
-        if (requestCode == 101 && grantResults.length > 0 && grantResults[0] == PackageManager.PERMISSION_GRANTED) {
-            if (shouldScheduleAfterPermission) {
-                AlarmScheduler.schedule(this, new AlarmItem(pendingAlarmId, "", pendingBookName, "",
-                        pendingTriggerMillis, pendingMessage));
-                shouldScheduleAfterPermission = false;
-            }
-        } else {
+        if (requestCode != 101) return;
+
+        if (grantResults.length == 0 || grantResults[0] != PackageManager.PERMISSION_GRANTED) {
             Toast.makeText(this, "Notification permission denied", Toast.LENGTH_SHORT).show();
         }
+        if (pendingBook != null) {
+            finishCreation(pendingBook, pendingTriggerMillis);
+            pendingBook = null;
+        }
     }
 
     /**
@@ -126,6 +126,8 @@ public class CreateGoal extends AppCompatActivity {
      *   <li>bookId - Unique identifier for the associated book</li>
      *   <li>bookName - Display name of the associated book</li>
      *   <li>bookImageUrl - URL for the book cover image</li>
+     *   <li>bookThumbUrl - URL for the book cover's list thumbnail</li>
+     *   <li>pageCount, currentPage - the book's length and progress, used by pace goals</li>
      * </ul></p>
      *
      * @param savedInstanceState If the activity is being re-initialized after previously being shut down,
@@ -220,6 +222,7 @@ public class CreateGoal extends AppCompatActivity {
      *   <li>User authentication state verification</li>
      *   <li>Goal type selection requirement</li>
      *   <li>Non-empty custom description for "Other" goal type</li>
+     *   <li>Known page count for the "Steady pace" goal type</li>
      *   <li>Proper Intent data availability</li>
      * </ul></p>
      *
@@ -232,6 +235,8 @@ public class CreateGoal extends AppCompatActivity {
      *   <li>bookId - Associated book identifier</li>
      *   <li>bookName - Associated book display name</li>
      *   <li>bookImageUrl - Associated book cover image URL</li>
+     *   <li>bookThumbUrl - Associated book cover thumbnail URL</li>
+     *   <li>For pace goals: type, startPage, targetPage, createdAtMillis and currentPage</li>
      * </ul></p>
      *
      * <p>Upon successful save, the activity automatically closes and returns to
@@ -249,6 +254,8 @@ public class CreateGoal extends AppCompatActivity {
         int checkedId = goalTypeGroup.getCheckedRadioButtonId();
         if (checkedId == R.id.radio_finish_book) {
             description = "Finish book";
+        } else if (checkedId == R.id.radio_pace) {
+            description = "Finish book at a steady pace";
         } else if (checkedId == R.id.radio_other) {
             description = descriptionInput.getText().toString().trim();
             if (description.isEmpty()) {
@@ -264,6 +271,7 @@ public class CreateGoal extends AppCompatActivity {
         String bookId = getIntent().getStringExtra("bookId");
         String selectedBookName = getIntent().getStringExtra("bookName");
         String selectedBookImageUrl = getIntent().getStringExtra("bookImageUrl");
+        String selectedBookThumbUrl = getIntent().getStringExtra("bookThumbUrl");
         Long deadlineMillis = getIntent().getLongExtra("deadlineMillis", 0);
         String newState = null;
         if (changeState) {
@@ -278,6 +286,30 @@ public class CreateGoal extends AppCompatActivity {
         goal.put("bookId", bookId);
         goal.put("bookName", selectedBookName);
         goal.put("bookImageUrl", selectedBookImageUrl);
+        goal.put("bookThumbUrl", selectedBookThumbUrl);
+
+        if (checkedId == R.id.radio_pace) {
+            int pageCount = getIntent().getIntExtra("pageCount", 0);
+            int currentPage = getIntent().getIntExtra("currentPage", 0);
+            if (pageCount <= 0) {
+                Toast.makeText(this, "Set the book's page count first", Toast.LENGTH_SHORT).show();
+                return;
+            }
+
+            // Logging progress in EditBook keeps currentPage and targetPage current
+            GoalItem pace = new GoalItem(description, deadlineMillis, changeState, newState);
+            pace.setType(ReadingPace.TYPE_PACE);
+            pace.setStartPage(currentPage);
+            pace.setTargetPage(pageCount);
+            pace.setCreatedAtMillis(System.currentTimeMillis());
+            pace.setCurrentPage(currentPage);
+
+            goal.put("type", pace.getType());
+            goal.put("startPage", pace.getStartPage());
+            goal.put("targetPage", pace.getTargetPage());
+            goal.put("createdAtMillis", pace.getCreatedAtMillis());
+            goal.put("currentPage", pace.getCurrentPage());
+        }
 
         FirebaseFirestore.getInstance()
                 .collection("users")
@@ -35,13 +35,9 @@ import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.storage.FirebaseStorage;
-import com.google.firebase.storage.StorageReference;
 
-import java.io.ByteArrayOutputStream;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * Activity for editing existing book entries in the BookTrack application.
@@ -73,6 +69,11 @@ public class EditBook extends AppCompatActivity {
      */
     private EditText pageCountInput;
 
+    /**
+     * EditText for logging the page the reader has reached.
+     */
+    private EditText currentPageInput;
+
     /**
      * Spinner for selecting the book's genre from predefined options.
      */
@@ -113,6 +114,16 @@ public class EditBook extends AppCompatActivity {
      */
     private String bookId;
 
+    /**
+     * The current page the book had when the screen was opened.
+     */
+    private int loggedPage;
+
+    /**
+     * The page count the book had when the screen was opened.
+     */
+    private int loggedPageCount;
+
     /**
      * Array of available book genres for the spinner selection.
      */
@@ -185,6 +196,7 @@ public class EditBook extends AppCompatActivity {
         nameInput = findViewById(R.id.edit_book_title);
         authorInput = findViewById(R.id.edit_author);
         pageCountInput = findViewById(R.id.edit_page_count);
+        currentPageInput = findViewById(R.id.edit_current_page);
         genreSpinner = findViewById(R.id.edit_genre);
         stateSpinner = findViewById(R.id.edit_state);
         coverImage = findViewById(R.id.edit_cover);
@@ -267,7 +279,10 @@ public class EditBook extends AppCompatActivity {
         // Load existing book data
         nameInput.setText(intent.getStringExtra("name"));
         authorInput.setText(intent.getStringExtra("author"));
-        pageCountInput.setText(String.valueOf(intent.getIntExtra("pageCount", 0)));
+        loggedPageCount = intent.getIntExtra("pageCount", 0);
+        pageCountInput.setText(String.valueOf(loggedPageCount));
+        loggedPage = intent.getIntExtra("currentPage", 0);
+        currentPageInput.setText(String.valueOf(loggedPage));
 
         String genre = intent.getStringExtra("genre");
         String state = intent.getStringExtra("situation");
@@ -389,9 +404,13 @@ public class EditBook extends AppCompatActivity {
 
     /**
      * Validates and saves the updated book information to Firebase Firestore.
-     * Performs input validation for required fields and numeric page count.
-     * If a new image is selected, uploads it to Firebase Storage before updating
-     * the document. Otherwise, updates only the text-based book information.
+     * Performs input validation for required fields, numeric page count and a current page
+     * within the book. A changed current page or page count also updates the book's pace
+     * goals through {@link ReadingPace}, and a changed name is propagated to its goals and alarms by
+     * {@link BookFanOut}; a new cover is propagated once {@link CoverUploadWorker} uploaded it.
+     * The text-based book information is updated right away; if a new image is selected,
+     * its upload is queued with {@link CoverUploadWorker}, which patches the cover URLs
+     * once the upload finishes.
      */
     private void saveUpdatedBook() {
         String name = nameInput.getText().toString().trim();
@@ -399,6 +418,7 @@ public class EditBook extends AppCompatActivity {
         String genre = genreSpinner.getSelectedItem().toString();
         String state = stateSpinner.getSelectedItem().toString();
         String pageCountText = pageCountInput.getText().toString().trim();
+        String currentPageText = currentPageInput.getText().toString().trim();
 
         if (TextUtils.isEmpty(name) || TextUtils.isEmpty(pageCountText)) {
             Toast.makeText(this, "* Please fill required fields", Toast.LENGTH_SHORT).show();
@@ -413,6 +433,18 @@ public class EditBook extends AppCompatActivity {
             return;
         }
 
+        int currentPage;
+        try {
+            currentPage = TextUtils.isEmpty(currentPageText) ? 0 : Integer.parseInt(currentPageText);
+        } catch (NumberFormatException e) {
+            Toast.makeText(this, "Current page must be a number", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        if (currentPage < 0 || currentPage > pageCount) {
+            Toast.makeText(this, "Current page must be between 0 and the page count", Toast.LENGTH_SHORT).show();
+            return;
+        }
+
         FirebaseFirestore db = FirebaseFirestore.getInstance();
         FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
         if (user == null) {
@@ -431,75 +463,31 @@ public class EditBook extends AppCompatActivity {
         updatedBook.put("genre", genre);
         updatedBook.put("situation", state);
         updatedBook.put("pageCount", pageCount);
+        updatedBook.put("currentPage", currentPage);
+        updatedBook.put("updatedAt", System.currentTimeMillis());
 
-        // Check if we have a new image (either from gallery or camera)
-        if (imageUri != null || capturedBitmap != null) {
-            uploadImageAndUpdateBook(docRef, updatedBook);
-        } else {
-            // No new image, just update the book data
-            docRef.update(updatedBook)
-                    .addOnSuccessListener(unused -> {
-                        Toast.makeText(this, "Book updated!", Toast.LENGTH_SHORT).show();
-                        finish();
-                    })
-                    .addOnFailureListener(e ->
-                            Toast.makeText(this, "Update failed", Toast.LENGTH_SHORT).show());
-        }
-    }
-
-    /**
-     * Handles the image upload process to Firebase Storage and subsequent book document update.
-     * Determines whether to upload a bitmap from camera capture or a URI from gallery selection,
-     * then calls the appropriate upload method.
-     *
-     * @param docRef Reference to the Firestore document to be updated
-     * @param updatedBook Map containing the updated book information
-     */
-    private void uploadImageAndUpdateBook(DocumentReference docRef, Map<String, Object> updatedBook) {
-        FirebaseStorage storage = FirebaseStorage.getInstance();
-        StorageReference ref = storage.getReference().child("book_images/" + UUID.randomUUID());
+        // Move the book to its new tab right away; the Firestore listener confirms it
+        BookIndex.getInstance(this).moveBook(bookId, state);
 
+        // Queue a new cover (either from camera or gallery); the worker attaches it when uploaded
         if (capturedBitmap != null) {
-            // Upload bitmap from camera
-            uploadBitmapToFirebase(ref, capturedBitmap, docRef, updatedBook);
+            CoverUploadWorker.enqueue(this, user.getUid(), bookId, capturedBitmap);
         } else if (imageUri != null) {
-            // Upload URI from gallery
-            ref.putFile(imageUri)
-                    .addOnSuccessListener(taskSnapshot ->
-                            ref.getDownloadUrl().addOnSuccessListener(uri -> {
-                                updatedBook.put("imageUrl", uri.toString());
-                                updateBookDocument(docRef, updatedBook);
-                            })
-                    )
-                    .addOnFailureListener(e ->
-                            Toast.makeText(this, "Image upload failed", Toast.LENGTH_SHORT).show());
+            CoverUploadWorker.enqueue(this, user.getUid(), bookId, imageUri);
         }
-    }
 
-    /**
-     * Uploads a bitmap image to Firebase Storage by converting it to a compressed JPEG byte array.
-     * Upon successful upload, retrieves the download URL and updates the book document.
-     *
-     * @param ref Storage reference where the image will be uploaded
-     * @param bitmap The bitmap image to upload
-     * @param docRef Reference to the Firestore document to be updated
-     * @param updatedBook Map containing the updated book information
-     */
-    private void uploadBitmapToFirebase(StorageReference ref, Bitmap bitmap,
-                                        DocumentReference docRef, Map<String, Object> updatedBook) {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        bitmap.compress(Bitmap.CompressFormat.JPEG, 80, baos);
-        byte[] data = baos.toByteArray();
-
-        ref.putBytes(data)
-                .addOnSuccessListener(taskSnapshot ->
-                        ref.getDownloadUrl().addOnSuccessListener(uri -> {
-                            updatedBook.put("imageUrl", uri.toString());
-                            updateBookDocument(docRef, updatedBook);
-                        })
-                )
-                .addOnFailureListener(e ->
-                        Toast.makeText(this, "Image upload failed", Toast.LENGTH_SHORT).show());
+        updateBookDocument(docRef, updatedBook);
+
+        // Renamed: update the name copied into the book's goals and alarms; no writes otherwise
+        BookFanOut.propagate(this, user.getUid(), bookId,
+                        BookFanOut.nameChanges(getIntent().getStringExtra("name"), name))
+                .addOnFailureListener(e -> Log.e("EditBook", "Failed to propagate book name", e));
+
+        // Progress or length changed: retarget and recompute the book's pace goals
+        if (currentPage != loggedPage || pageCount != loggedPageCount) {
+            ReadingPace.updatePaceGoals(user.getUid(), bookId, currentPage, pageCount)
+                    .addOnFailureListener(e -> Log.e("EditBook", "Failed to update pace goals", e));
+        }
     }
 
     /**
@@ -507,7 +495,7 @@ public class EditBook extends AppCompatActivity {
      * Displays success or failure messages to the user and finishes the activity upon success.
      *
      * @param docRef Reference to the Firestore document to be updated
-     * @param updatedBook Map containing all the updated book information including image URL
+     * @param updatedBook Map containing all the updated book information
      */
     private void updateBookDocument(DocumentReference docRef, Map<String, Object> updatedBook) {
         docRef.update(updatedBook)
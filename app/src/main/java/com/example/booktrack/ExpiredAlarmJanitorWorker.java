@@ -0,0 +1,135 @@
+package com.example.booktrack;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodic background job deleting expired alarm documents from Firestore.
+ * Alarms normally delete their own document when they fire; this job catches the ones
+ * that could not, e.g. because the device was off or offline at the deadline.
+ *
+ * <p>Only expired documents are read: the query filters on {@code deadlineMillis} on the
+ * server, so each run costs reads proportional to the expired alarms rather than to the
+ * whole collection. Deletions are committed in {@link WriteBatch}es of at most
+ * {@link #BATCH_SIZE} operations, the Firestore limit.</p>
+ *
+ * <p>Key features include:
+ * <ul>
+ *   <li>Daily run with a network constraint</li>
+ *   <li>Server-side filtering of expired alarms</li>
+ *   <li>Batched deletion in chunks of 500</li>
+ *   <li>Recurring alarms are moved to their next occurrence rather than deleted</li>
+ * </ul></p>
+ *
+ * @author BookTrack Development Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class ExpiredAlarmJanitorWorker extends Worker {
+
+    /** Unique work name of the periodic job */
+    private static final String WORK_NAME = "expired-alarm-janitor";
+
+    /** Maximum number of operations in one Firestore write batch */
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * Creates the worker. Instantiated by WorkManager.
+     *
+     * @param context      the application context
+     * @param workerParams parameters of this run
+     */
+    public ExpiredAlarmJanitorWorker(@NonNull Context context, @NonNull WorkerParameters workerParams) {
+        super(context, workerParams);
+    }
+
+    /**
+     * Schedules the daily run. Calling this again keeps the existing schedule.
+     *
+     * @param context any context; only its application context is retained
+     */
+    public static void schedule(Context context) {
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(
+                ExpiredAlarmJanitorWorker.class, 1, TimeUnit.DAYS)
+                .setConstraints(new Constraints.Builder()
+                        .setRequiredNetworkType(NetworkType.CONNECTED)
+                        .build())
+                .build();
+
+        WorkManager.getInstance(context.getApplicationContext())
+                .enqueueUniquePeriodicWork(WORK_NAME, ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    /**
+     * Deletes the signed-in user's expired alarms. Runs on a WorkManager thread.
+     *
+     * @return success once all expired alarms were deleted, retry on failures
+     */
+    @NonNull
+    @Override
+    public Result doWork() {
+        SharedPreferences prefs = getApplicationContext().getSharedPreferences("BookTrackPrefs", Context.MODE_PRIVATE);
+        String uid = prefs.getString("uid", null);
+        if (uid == null) return Result.success();
+
+        FirebaseApp.initializeApp(getApplicationContext());
+        FirebaseFirestore db = FirebaseFirestore.getInstance();
+        CollectionReference alarms = db.collection("users")
+                .document(uid)
+                .collection("alarms");
+
+        try {
+            int cleaned = 0;
+            while (true) {
+                QuerySnapshot expired = Tasks.await(alarms
+                        .whereLessThan("deadlineMillis", System.currentTimeMillis())
+                        .limit(BATCH_SIZE)
+                        .get());
+                List<DocumentSnapshot> docs = expired.getDocuments();
+                if (docs.isEmpty()) break;
+
+                long now = System.currentTimeMillis();
+                WriteBatch batch = db.batch();
+                for (DocumentSnapshot doc : docs) {
+                    AlarmItem alarm = doc.toObject(AlarmItem.class);
+                    if (alarm != null && AlarmRecurrence.isRecurring(alarm)) {
+                        // A series missed while the device was off moves on instead of being deleted
+                        batch.update(doc.getReference(), "deadlineMillis", AlarmRecurrence.nextOccurrence(alarm, now));
+                    } else {
+                        batch.delete(doc.getReference());
+                    }
+                }
+                Tasks.await(batch.commit());
+                cleaned += docs.size();
+
+                if (docs.size() < BATCH_SIZE) break;
+            }
+            Log.i("ExpiredAlarmJanitorWorker", "Cleaned up " + cleaned + " expired alarms");
+            return Result.success();
+        } catch (Exception e) {
+            Log.w("ExpiredAlarmJanitorWorker", "Expired alarm cleanup failed, retrying", e);
+            return Result.retry();
+        }
+    }
+}
@@ -9,19 +9,32 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.Button;
 import android.widget.ImageView;
+import android.widget.ProgressBar;
 import android.widget.TextView;
+import android.widget.Toast;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
+import com.bumptech.glide.ListPreloader;
+import com.bumptech.glide.RequestBuilder;
 import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.WriteBatch;
 
 import java.text.SimpleDateFormat;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * RecyclerView adapter for displaying and managing reading goals in the BookTrack application.
@@ -31,10 +44,19 @@ import java.util.Locale;
  * <p>The adapter provides a rich interface for goal management including:
  * <ul>
  *   <li>Visual goal representation with book cover images and metadata</li>
+ *   <li>Cover preloading for rows about to scroll into view</li>
  *   <li>Deadline tracking with visual warnings for overdue goals</li>
- *   <li>Goal completion handling with optional book state transitions</li>
+ *   <li>Progress bar, required pages per day and on-track status of pace goals, derived at
+ *       bind time in O(1) from the goal's start, target and logged page, so they follow the
+ *       clock even when no progress is logged</li>
+ *   <li>Live overdue updates through a {@link GoalDeadlineTracker}, rebinding only the
+ *       warning of rows whose deadline just passed</li>
+ *   <li>Atomic goal resolution: the book state change, the archiving of the goal and the
+ *       statistics update are committed in one Firestore write batch</li>
+ *   <li>Pending state on rows whose completion is being saved, preventing duplicate taps</li>
  *   <li>Goal deletion with confirmation dialogs for user safety</li>
  *   <li>Firebase Firestore integration for real-time data operations</li>
+ *   <li>Background list diffing keyed on the goal's document ID</li>
  *   <li>Automatic book status updates upon goal completion</li>
  * </ul></p>
  *
@@ -50,23 +72,66 @@ import java.util.Locale;
  * @version 1.0
  * @since 1.0
  */
-public class GoalAdapter extends RecyclerView.Adapter<GoalAdapter.GoalViewHolder> {
+public class GoalAdapter extends ListAdapter<GoalItem, GoalAdapter.GoalViewHolder>
+        implements ListPreloader.PreloadModelProvider<GoalItem> {
 
-    /** List of goal items to be displayed in the RecyclerView */
-    private final List<GoalItem> goalList;
+    /**
+     * Diff callback identifying goals by Firestore document ID and comparing every displayed field.
+     * Used by the underlying AsyncListDiffer, which computes diffs on a background thread.
+     */
+    private static final DiffUtil.ItemCallback<GoalItem> DIFF_CALLBACK = new DiffUtil.ItemCallback<GoalItem>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull GoalItem oldItem, @NonNull GoalItem newItem) {
+            return Objects.equals(oldItem.getId(), newItem.getId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull GoalItem oldItem, @NonNull GoalItem newItem) {
+            return oldItem.getDeadlineMillis() == newItem.getDeadlineMillis()
+                    && oldItem.isChangeState() == newItem.isChangeState()
+                    && Objects.equals(oldItem.getDescription(), newItem.getDescription())
+                    && Objects.equals(oldItem.getNewState(), newItem.getNewState())
+                    && Objects.equals(oldItem.getBookId(), newItem.getBookId())
+                    && Objects.equals(oldItem.getBookName(), newItem.getBookName())
+                    && Objects.equals(oldItem.getBookImageUrl(), newItem.getBookImageUrl())
+                    && Objects.equals(oldItem.getBookThumbUrl(), newItem.getBookThumbUrl())
+                    && Objects.equals(oldItem.getType(), newItem.getType())
+                    && oldItem.getTargetPage() == newItem.getTargetPage()
+                    && oldItem.getCurrentPage() == newItem.getCurrentPage();
+        }
+    };
+
+    /** Payload rebinding only the deadline warning of a row whose deadline passed */
+    private static final Object PAYLOAD_DEADLINE_PASSED = new Object();
+
+    /** Payload rebinding only the pending state of a row */
+    private static final Object PAYLOAD_PENDING = new Object();
 
     /** Context reference for accessing resources and services */
     private final Context context;
 
+    /** IDs of the goals whose resolution batch has not been acknowledged yet */
+    private final Set<String> pendingGoalIds = new HashSet<>();
+
+    /**
+     * The user's goal statistics as last read, used to maintain the best streak; null until
+     * read, during which goals cannot be resolved
+     */
+    private GoalStats stats;
+
+    /** Tracker flagging rows as overdue when their deadline passes while the list is shown */
+    private final GoalDeadlineTracker deadlineTracker =
+            new GoalDeadlineTracker(position -> notifyItemChanged(position, PAYLOAD_DEADLINE_PASSED));
+
     /**
-     * Constructs a new GoalAdapter with the specified context and goal list.
+     * Constructs a new GoalAdapter with the specified context.
+     * Goals are supplied with {@link #submitList(List)}; only rows whose goal changed are rebound.
      *
-     * @param context  The context used for accessing resources and services
-     * @param goalList The list of GoalItem objects to be displayed
+     * @param context The context used for accessing resources and services
      */
-    public GoalAdapter(Context context, List<GoalItem> goalList) {
+    public GoalAdapter(Context context) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.goalList = goalList;
     }
 
     /**
@@ -85,6 +150,67 @@ public class GoalAdapter extends RecyclerView.Adapter<GoalAdapter.GoalViewHolder
         return new GoalViewHolder(v);
     }
 
+    /**
+     * Supplies the user's current goal statistics, which resolving a goal builds on.
+     * The Done and Failed actions stay disabled until statistics have been supplied, so a
+     * resolution never overwrites the best streak with one computed from nothing.
+     *
+     * @param stats the statistics, or null if not known
+     */
+    public void setStats(GoalStats stats) {
+        boolean availabilityChanged = (this.stats == null) != (stats == null);
+        this.stats = stats;
+        if (availabilityChanged) notifyItemRangeChanged(0, getItemCount(), PAYLOAD_PENDING);
+    }
+
+    /**
+     * Starts flagging rows as overdue when their deadline passes. Call when the list becomes visible.
+     */
+    public void startDeadlineTracking() {
+        deadlineTracker.start();
+    }
+
+    /**
+     * Stops flagging rows as overdue. Call when the list is no longer visible.
+     */
+    public void stopDeadlineTracking() {
+        deadlineTracker.stop();
+    }
+
+    /**
+     * Hands the newly displayed goals to the deadline tracker, so its positions match the list.
+     *
+     * @param previousList the goals displayed before
+     * @param currentList  the goals displayed now
+     */
+    @Override
+    public void onCurrentListChanged(@NonNull List<GoalItem> previousList, @NonNull List<GoalItem> currentList) {
+        deadlineTracker.setGoals(currentList);
+    }
+
+    /**
+     * Binds a row, updating only its deadline warning or pending state when the rebind was
+     * caused by the goal's deadline passing or by a change of its completion state.
+     *
+     * @param holder   The ViewHolder which should be updated to represent the goal item
+     * @param position The position of the item within the adapter's data set
+     * @param payloads The partial-update payloads, empty for a full bind
+     */
+    @Override
+    public void onBindViewHolder(@NonNull GoalViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            super.onBindViewHolder(holder, position, payloads);
+            return;
+        }
+        for (Object payload : payloads) {
+            if (payload == PAYLOAD_DEADLINE_PASSED) {
+                bindDeadlineWarning(holder, getItem(position));
+            } else if (payload == PAYLOAD_PENDING) {
+                bindPending(holder, getItem(position));
+            }
+        }
+    }
+
     /**
      * Binds data from a GoalItem to the ViewHolder's views and configures user interactions.
      * This method populates the goal item view with goal information, handles deadline
@@ -95,14 +221,15 @@ public class GoalAdapter extends RecyclerView.Adapter<GoalAdapter.GoalViewHolder
      *   <li>Deadline validation and warning display for overdue goals</li>
      *   <li>Goal description and formatted deadline display</li>
      *   <li>Conditional state change information display</li>
+     *   <li>Progress and pace display for pace goals</li>
      *   <li>Book title and cover image loading with Glide</li>
      *   <li>Action button configuration for goal completion and deletion</li>
      * </ul></p>
      *
      * <p>Interactive elements include:
      * <ul>
-     *   <li><strong>Done Button</strong> - Completes the goal and optionally updates book status</li>
-     *   <li><strong>Failed Button</strong> - Marks the goal as failed and removes it</li>
+     *   <li><strong>Done Button</strong> - Completes the goal, archives it and optionally updates book status</li>
+     *   <li><strong>Failed Button</strong> - Marks the goal as failed and archives it</li>
      *   <li><strong>Delete Button</strong> - Shows confirmation dialog before goal deletion</li>
      * </ul></p>
      *
@@ -114,16 +241,12 @@ public class GoalAdapter extends RecyclerView.Adapter<GoalAdapter.GoalViewHolder
      */
     @Override
     public void onBindViewHolder(@NonNull GoalViewHolder holder, int position) {
-        GoalItem goal = goalList.get(position);
+        GoalItem goal = getItem(position);
         long deadlineMillis = goal.getDeadlineMillis();
-        long now = System.currentTimeMillis();
         holder.deleteButton.setOnClickListener(v -> deleteGoal(goal));
 
-        if (deadlineMillis < now) {
-            holder.deadlineWarning.setVisibility(View.VISIBLE);
-        } else {
-            holder.deadlineWarning.setVisibility(View.GONE);
-        }
+        bindDeadlineWarning(holder, goal);
+        bindPending(holder, goal);
 
         holder.description.setText("Goal: " + goal.getDescription());
 
@@ -131,6 +254,23 @@ public class GoalAdapter extends RecyclerView.Adapter<GoalAdapter.GoalViewHolder
                 .format(new Date(deadlineMillis));
         holder.deadlineMillis.setText("Deadline: " + dateStr);
 
+        if (ReadingPace.isPace(goal)) {
+            long now = System.currentTimeMillis();
+            int required = ReadingPace.requiredPagesPerDay(
+                    goal.getCurrentPage(), goal.getTargetPage(), goal.getDeadlineMillis(), now);
+            boolean onTrack = ReadingPace.isOnTrack(goal, goal.getCurrentPage(), now);
+            holder.progress.setProgress(ReadingPace.percent(goal.getCurrentPage(), goal.getTargetPage()));
+            holder.paceText.setText(required == 0
+                    ? "Last page reached"
+                    : required + " pages/day · " + (onTrack ? "On track" : "Behind"));
+            holder.paceText.setTextColor(onTrack ? Color.BLACK : Color.parseColor("#D32F2F"));
+            holder.progress.setVisibility(View.VISIBLE);
+            holder.paceText.setVisibility(View.VISIBLE);
+        } else {
+            holder.progress.setVisibility(View.GONE);
+            holder.paceText.setVisibility(View.GONE);
+        }
+
         if (goal.isChangeState()) {
             holder.stateChange.setText("Change state to: " + goal.getNewState());
         } else {
@@ -139,14 +279,11 @@ public class GoalAdapter extends RecyclerView.Adapter<GoalAdapter.GoalViewHolder
 
         holder.bookTitle.setText(goal.getBookName());
 
-        String imageUrl = goal.getBookImageUrl();
         holder.bookCover.setImageResource(R.drawable.ic_launcher_background);
         Log.d("GoalAdapter", "Image URL: " + goal.getBookImageUrl());
         holder.bookCover.setBackgroundColor(Color.parseColor("#c3b091"));
-        Log.d("GoalAdapter", "Image URL: " + imageUrl);
-        if (imageUrl != null && !imageUrl.isEmpty()) {
-            Glide.with(context)
-                    .load(imageUrl)
+        if (CoverUploader.hasCover(goal.getBookThumbUrl(), goal.getBookImageUrl())) {
+            ListCovers.load(context, goal.getBookThumbUrl(), goal.getBookImageUrl())
                     .placeholder(R.drawable.ic_launcher_background)
                     .error(R.drawable.ic_launcher_background)
                     .into(holder.bookCover);
@@ -155,12 +292,7 @@ public class GoalAdapter extends RecyclerView.Adapter<GoalAdapter.GoalViewHolder
             holder.bookCover.setBackgroundColor(Color.parseColor("#c3b091"));
         }
 
-        holder.doneButton.setOnClickListener(v -> {
-            if (goal.isChangeState()) {
-                updateBookSituation(goal.getBookId(), goal.getNewState());
-            }
-            deleteGoal(goal);
-        });
+        holder.doneButton.setOnClickListener(v -> resolveGoal(goal, true));
 
         holder.deleteButton.setOnClickListener(v -> {
             new AlertDialog.Builder(context)
@@ -171,7 +303,105 @@ public class GoalAdapter extends RecyclerView.Adapter<GoalAdapter.GoalViewHolder
                     .show();
         });
 
-        holder.failedButton.setOnClickListener(v -> deleteGoal(goal));
+        holder.failedButton.setOnClickListener(v -> resolveGoal(goal, false));
+    }
+
+    /**
+     * Shows the deadline warning if the goal's deadline has passed.
+     *
+     * @param holder the row
+     * @param goal   the goal shown in the row
+     */
+    private static void bindDeadlineWarning(GoalViewHolder holder, GoalItem goal) {
+        boolean passed = GoalDeadlineTracker.isPassed(goal.getDeadlineMillis(), System.currentTimeMillis());
+        holder.deadlineWarning.setVisibility(passed ? View.VISIBLE : View.GONE);
+    }
+
+    /**
+     * Disables the row's actions and dims it while its completion is being saved. Done and
+     * Failed are also disabled until the user's statistics have been read.
+     *
+     * @param holder the row
+     * @param goal   the goal shown in the row
+     */
+    private void bindPending(GoalViewHolder holder, GoalItem goal) {
+        boolean pending = pendingGoalIds.contains(goal.getId());
+        boolean resolvable = !pending && stats != null;
+        holder.itemView.setAlpha(pending ? 0.5f : 1f);
+        holder.doneButton.setEnabled(resolvable);
+        holder.failedButton.setEnabled(resolvable);
+        holder.deleteButton.setEnabled(!pending);
+        holder.doneButton.setText(pending ? "Saving…" : "Done");
+    }
+
+    /**
+     * Resolves a goal in a single Firestore write batch: the optional change of the book's
+     * reading state on completion, the move of the goal to the {@link GoalHistory} archive and
+     * the update of the user's {@link GoalStats} are applied together or not at all.
+     *
+     * <p>The change is shown right away: the row is marked pending, the book moves in the
+     * local {@link BookIndex}, and Firestore applies the batch to its local cache, which removes
+     * the row through the snapshot listener. If the server rejects the batch, Firestore reverts
+     * its cache, bringing the row back, and the book is moved back in the index.</p>
+     *
+     * <p>The state change is left out if the book is no longer in the loaded index, so goals
+     * of deleted books can still be resolved.</p>
+     *
+     * @param goal      the goal to resolve; ignored while a resolution of it is pending or
+     *                  while the statistics are unknown
+     * @param completed true if the goal was marked as done, false if it failed
+     */
+    private void resolveGoal(GoalItem goal, boolean completed) {
+        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+        if (user == null || stats == null || goal.getId() == null || !pendingGoalIds.add(goal.getId())) return;
+        notifyGoalChanged(goal, PAYLOAD_PENDING);
+
+        FirebaseFirestore db = FirebaseFirestore.getInstance();
+        DocumentReference userRef = db.collection("users").document(user.getUid());
+        WriteBatch batch = db.batch();
+
+        String bookId = goal.getBookId();
+        String previousState = null;
+        BookIndex index = BookIndex.getInstance(context);
+        Book book = bookId != null ? index.getBook(bookId) : null;
+        // A book missing from a loaded index was deleted; updating it would fail the whole batch
+        boolean bookExists = book != null || (bookId != null && !index.isLoaded());
+        if (completed && goal.isChangeState() && bookExists && goal.getNewState() != null) {
+            previousState = book != null ? book.getSituation() : null;
+            batch.update(userRef.collection("books").document(bookId),
+                    "situation", goal.getNewState(), "updatedAt", System.currentTimeMillis());
+            index.moveBook(bookId, goal.getNewState());
+        }
+        GoalHistory.resolve(batch, userRef, goal, completed, stats, System.currentTimeMillis());
+
+        String rollbackState = previousState;
+        batch.commit()
+                .addOnSuccessListener(unused -> pendingGoalIds.remove(goal.getId()))
+                .addOnFailureListener(e -> {
+                    Log.e("GoalAdapter", "Failed to resolve goal " + goal.getId(), e);
+                    pendingGoalIds.remove(goal.getId());
+                    if (rollbackState != null) {
+                        BookIndex.getInstance(context).moveBook(bookId, rollbackState);
+                    }
+                    notifyGoalChanged(goal, PAYLOAD_PENDING);
+                    Toast.makeText(context, "Could not save goal", Toast.LENGTH_SHORT).show();
+                });
+    }
+
+    /**
+     * Rebinds the row of a goal, if it is still listed.
+     *
+     * @param goal    the goal
+     * @param payload the partial-update payload
+     */
+    private void notifyGoalChanged(GoalItem goal, Object payload) {
+        List<GoalItem> goals = getCurrentList();
+        for (int i = 0; i < goals.size(); i++) {
+            if (Objects.equals(goals.get(i).getId(), goal.getId())) {
+                notifyItemChanged(i, payload);
+                return;
+            }
+        }
     }
 
     /**
@@ -202,44 +432,29 @@ public class GoalAdapter extends RecyclerView.Adapter<GoalAdapter.GoalViewHolder
     }
 
     /**
-     * Updates a book's reading status in Firebase Firestore.
-     * This method is called when a goal is completed and the goal was configured
-     * to automatically change the associated book's reading state.
+     * Returns the goal at the given position so its cover can be preloaded before the row is bound.
      *
-     * <p>The update process includes:
-     * <ul>
-     *   <li>Validation of book ID and new state parameters</li>
-     *   <li>User authentication validation</li>
-     *   <li>Firestore document update for the book's "situation" field</li>
-     *   <li>Automatic synchronization with the user's book collection</li>
-     * </ul></p>
-     *
-     * <p>This feature enables seamless progress tracking by automatically
-     * transitioning books from "Currently Reading" to "Read" status when
-     * reading goals are completed, maintaining accurate reading statistics.</p>
-     *
-     * @param bookId   The unique identifier of the book to update
-     * @param newState The new reading state to assign to the book
+     * @param position adapter position of a row about to scroll into view
+     * @return the goal, or an empty list if it has no cover
      */
-    private void updateBookSituation(String bookId, String newState) {
-        if (bookId == null || newState == null) return;
-        String uid = FirebaseAuth.getInstance().getCurrentUser().getUid();
-        FirebaseFirestore.getInstance()
-                .collection("users")
-                .document(uid)
-                .collection("books")
-                .document(bookId)
-                .update("situation", newState);
+    @NonNull
+    @Override
+    public List<GoalItem> getPreloadItems(int position) {
+        GoalItem goal = getItem(position);
+        if (!CoverUploader.hasCover(goal.getBookThumbUrl(), goal.getBookImageUrl())) return Collections.emptyList();
+        return Collections.singletonList(goal);
     }
 
     /**
-     * Returns the total number of goal items in the data set.
+     * Builds the same cover request as {@link #onBindViewHolder} so preloaded covers hit the memory cache.
      *
-     * @return The total number of goal items held by the adapter
+     * @param goal the goal whose cover is preloaded
+     * @return the list cover request
      */
+    @Nullable
     @Override
-    public int getItemCount() {
-        return goalList.size();
+    public RequestBuilder<?> getPreloadRequestBuilder(@NonNull GoalItem goal) {
+        return ListCovers.load(context, goal.getBookThumbUrl(), goal.getBookImageUrl());
     }
 
     /**
@@ -272,6 +487,12 @@ public class GoalAdapter extends RecyclerView.Adapter<GoalAdapter.GoalViewHolder
         /** TextView for displaying the associated book title */
         TextView bookTitle;
 
+        /** ProgressBar showing the progress of a pace goal */
+        ProgressBar progress;
+
+        /** TextView showing the required pace and on-track status of a pace goal */
+        TextView paceText;
+
         /** ImageView for displaying the book cover image */
         ImageView bookCover;
 
@@ -296,6 +517,8 @@ public class GoalAdapter extends RecyclerView.Adapter<GoalAdapter.GoalViewHolder
             deadlineMillis = itemView.findViewById(R.id.goal_deadline);
             stateChange = itemView.findViewById(R.id.goal_state_change);
             deadlineWarning = itemView.findViewById(R.id.deadline_passed_warning);
+            progress = itemView.findViewById(R.id.goal_progress);
+            paceText = itemView.findViewById(R.id.goal_pace_text);
             bookCover = itemView.findViewById(R.id.book_cover);
             doneButton = itemView.findViewById(R.id.button_done);
             failedButton = itemView.findViewById(R.id.button_failed);
@@ -0,0 +1,150 @@
+package com.example.booktrack;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tracks which listed goals have passed their deadline while a goal list is on screen.
+ * Rather than checking every row against the clock, the tracker keeps the list positions
+ * sorted by deadline and posts a single main-thread callback for the next deadline to pass.
+ * When it runs, only the rows whose deadline passed are reported, and the callback for the
+ * following deadline is posted.
+ *
+ * <p>Key features include:
+ * <ul>
+ *   <li>At most one pending callback, however many goals are listed</li>
+ *   <li>Reporting of exactly the rows that just became overdue</li>
+ *   <li>Catching up after the device slept or the screen was in the background, since
+ *       main-thread callbacks do not run in deep sleep</li>
+ * </ul></p>
+ *
+ * @author BookTrack Development Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class GoalDeadlineTracker {
+
+    /**
+     * Receives the positions of goals whose deadline passed.
+     */
+    public interface Listener {
+
+        /**
+         * Called on the main thread once per goal when its deadline passes.
+         *
+         * @param position the goal's position in the list passed to {@link #setGoals(List)}
+         */
+        void onDeadlinePassed(int position);
+    }
+
+    /** Main-thread handler running the deadline callback */
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    /** Receiver of passed deadlines */
+    private final Listener listener;
+
+    /** Callback advancing past the deadlines that passed */
+    private final Runnable tick = this::advance;
+
+    /** Deadlines of the listed goals in ascending order */
+    private long[] deadlines = new long[0];
+
+    /** List positions matching {@link #deadlines} */
+    private int[] positions = new int[0];
+
+    /** Index into {@link #deadlines} of the earliest deadline that has not passed yet */
+    private int next;
+
+    /** Whether callbacks are posted; false while the list is not visible */
+    private boolean running;
+
+    /**
+     * Creates a stopped tracker.
+     *
+     * @param listener the receiver of passed deadlines
+     */
+    public GoalDeadlineTracker(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Returns whether a deadline has passed. Shared with the adapter so that binding and
+     * tracking agree on the instant a goal becomes overdue.
+     *
+     * @param deadlineMillis the deadline
+     * @param now            the current time
+     * @return true if the deadline is in the past
+     */
+    public static boolean isPassed(long deadlineMillis, long now) {
+        return deadlineMillis < now;
+    }
+
+    /**
+     * Replaces the tracked goals. Goals already overdue are not reported; the caller binds them
+     * as overdue anyway.
+     *
+     * @param goals the goals in list order
+     */
+    public void setGoals(List<GoalItem> goals) {
+        Integer[] order = new Integer[goals.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Long.compare(
+                goals.get(a).getDeadlineMillis(), goals.get(b).getDeadlineMillis()));
+
+        deadlines = new long[order.length];
+        positions = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            positions[i] = order[i];
+            deadlines[i] = goals.get(order[i]).getDeadlineMillis();
+        }
+
+        long now = System.currentTimeMillis();
+        next = 0;
+        while (next < deadlines.length && isPassed(deadlines[next], now)) next++;
+        scheduleNext(now);
+    }
+
+    /**
+     * Starts posting callbacks, first reporting deadlines that passed while stopped.
+     */
+    public void start() {
+        running = true;
+        advance();
+    }
+
+    /**
+     * Stops posting callbacks until {@link #start()} is called again.
+     */
+    public void stop() {
+        running = false;
+        handler.removeCallbacks(tick);
+    }
+
+    /**
+     * Reports every deadline that passed and posts the callback for the next one.
+     */
+    private void advance() {
+        if (!running) return;
+        long now = System.currentTimeMillis();
+        while (next < deadlines.length && isPassed(deadlines[next], now)) {
+            listener.onDeadlinePassed(positions[next]);
+            next++;
+        }
+        scheduleNext(now);
+    }
+
+    /**
+     * Replaces the pending callback with one for the earliest deadline not passed yet.
+     *
+     * @param now the current time
+     */
+    private void scheduleNext(long now) {
+        handler.removeCallbacks(tick);
+        if (!running || next >= deadlines.length) return;
+        // The deadline counts as passed from the following millisecond on
+        handler.postDelayed(tick, deadlines[next] - now + 1);
+    }
+}
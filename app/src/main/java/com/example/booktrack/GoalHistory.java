@@ -0,0 +1,105 @@
+package com.example.booktrack;
+
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Archive of resolved reading goals and the statistics derived from it.
+ * A goal marked as done or failed moves from {@code users/{uid}/goals} to
+ * {@code users/{uid}/goalHistory} under the same ID, and the counters in
+ * {@code users/{uid}/stats/goals} are updated in the same write batch, so the archive
+ * and the statistics never disagree.
+ *
+ * <p>The completed, failed and on-time counters are updated with
+ * {@link FieldValue#increment(long)}, so concurrent resolutions from several devices add up
+ * correctly. The streaks are not: a failure resets the current streak to 0, and the best
+ * streak is derived from the statistics last read by the caller, which may be stale if
+ * another device resolved a goal in the meantime. Callers must therefore have read the
+ * statistics before resolving; unknown statistics never overwrite the best streak.</p>
+ *
+ * <p>Deleted goals are not archived; they were abandoned rather than resolved.</p>
+ *
+ * @author BookTrack Development Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class GoalHistory {
+
+    /** Outcome of a goal marked as done */
+    public static final String COMPLETED = "COMPLETED";
+
+    /** Outcome of a goal marked as failed */
+    public static final String FAILED = "FAILED";
+
+    /**
+     * Not instantiable; all members are static.
+     */
+    private GoalHistory() {}
+
+    /**
+     * Returns the statistics document of a user.
+     *
+     * @param userRef the user's document
+     * @return the document holding the user's {@link GoalStats}
+     */
+    public static DocumentReference statsRef(DocumentReference userRef) {
+        return userRef.collection("stats").document("goals");
+    }
+
+    /**
+     * Adds the resolution of a goal to a write batch: the goal is removed, archived with its
+     * outcome and counted in the statistics.
+     *
+     * @param batch      the batch to add the writes to
+     * @param userRef    the document of the user owning the goal
+     * @param goal       the goal being resolved; its ID must be set
+     * @param completed  true if the goal was marked as done, false if it failed
+     * @param stats      the user's statistics as last read; if null, the best streak is left
+     *                   untouched
+     * @param resolvedAt the time of the resolution
+     */
+    public static void resolve(WriteBatch batch, DocumentReference userRef, GoalItem goal,
+                               boolean completed, GoalStats stats, long resolvedAt) {
+        boolean onTime = completed && resolvedAt <= goal.getDeadlineMillis();
+
+        Map<String, Object> archived = new HashMap<>();
+        archived.put("description", goal.getDescription());
+        archived.put("deadlineMillis", goal.getDeadlineMillis());
+        archived.put("changeState", goal.isChangeState());
+        archived.put("newState", goal.getNewState());
+        archived.put("bookId", goal.getBookId());
+        archived.put("bookName", goal.getBookName());
+        archived.put("bookImageUrl", goal.getBookImageUrl());
+        archived.put("bookThumbUrl", goal.getBookThumbUrl());
+        archived.put("type", goal.getType());
+        archived.put("startPage", goal.getStartPage());
+        archived.put("targetPage", goal.getTargetPage());
+        archived.put("createdAtMillis", goal.getCreatedAtMillis());
+        archived.put("currentPage", goal.getCurrentPage());
+        archived.put("outcome", completed ? COMPLETED : FAILED);
+        archived.put("onTime", onTime);
+        archived.put("resolvedAt", resolvedAt);
+
+        Map<String, Object> counters = new HashMap<>();
+        if (completed) {
+            counters.put("completed", FieldValue.increment(1));
+            counters.put("onTime", FieldValue.increment(onTime ? 1 : 0));
+            counters.put("currentStreak", FieldValue.increment(1));
+            if (stats != null && stats.getCurrentStreak() + 1 > stats.getBestStreak()) {
+                counters.put("bestStreak", stats.getCurrentStreak() + 1);
+            }
+        } else {
+            counters.put("failed", FieldValue.increment(1));
+            counters.put("currentStreak", 0);
+        }
+
+        batch.delete(userRef.collection("goals").document(goal.getId()));
+        batch.set(userRef.collection("goalHistory").document(goal.getId()), archived);
+        batch.set(statsRef(userRef), counters, SetOptions.merge());
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.booktrack;
 
+import com.google.firebase.firestore.IgnoreExtraProperties;
+
 /**
  * Data model class representing a reading goal in the BookTrack application.
  * This class encapsulates all information related to user-created reading objectives,
@@ -18,20 +20,24 @@ package com.example.booktrack;
  *   <li>Firebase Firestore compatibility for cloud synchronization</li>
  * </ul></p>
  *
- * <p>The class supports two primary goal types:
+ * <p>The class supports three primary goal types:
  * <ul>
  *   <li><strong>Simple Goals</strong> - Basic objectives with descriptions and deadlines</li>
  *   <li><strong>State-Changing Goals</strong> - Goals that automatically update book status upon completion</li>
+ *   <li><strong>Pace Goals</strong> - Goals to reach the book's last page by the deadline, holding
+ *       the pages and times {@link ReadingPace} derives the required pace from</li>
  * </ul></p>
  *
  * <p>This class is designed to work seamlessly with Firebase Firestore's automatic
  * serialization and deserialization, requiring a no-argument constructor and following
- * JavaBean conventions for property access.</p>
+ * JavaBean conventions for property access. Fields the class no longer declares, such as
+ * the pace values older pace goals cached, are ignored when reading a document.</p>
  *
  * @author BookTrack Development Team
  * @version 1.0
  * @since 1.0
  */
+@IgnoreExtraProperties
 public class GoalItem {
 
     /** The description or title of the reading goal */
@@ -49,6 +55,9 @@ public class GoalItem {
     /** URL of the associated book's cover image */
     private String bookImageUrl;
 
+    /** URL of the small list thumbnail of the associated book's cover */
+    private String bookThumbUrl;
+
     /** Unique identifier of the associated book */
     private String bookId;
 
@@ -58,6 +67,21 @@ public class GoalItem {
     /** Unique identifier for this goal item */
     private String id;
 
+    /** Goal type; {@link ReadingPace#TYPE_PACE} for pace goals, null for simple goals */
+    private String type;
+
+    /** Page the book was at when the pace goal was set */
+    private int startPage;
+
+    /** Page to reach by the deadline; the book's last page for pace goals */
+    private int targetPage;
+
+    /** Time the pace goal was set, in Unix timestamp (milliseconds) */
+    private long createdAtMillis;
+
+    /** Cached page the book was at when progress was last logged */
+    private int currentPage;
+
     /**
      * Default no-argument constructor required for Firebase Firestore serialization.
      * This constructor creates an empty GoalItem that can be populated through
@@ -128,6 +152,15 @@ public class GoalItem {
         return bookImageUrl;
     }
 
+    /**
+     * Gets the URL of the small list thumbnail of the associated book's cover.
+     *
+     * @return The thumbnail URL, or {@code null} for goals created before thumbnails existed
+     */
+    public String getBookThumbUrl() {
+        return bookThumbUrl;
+    }
+
     /**
      * Gets the unique identifier of the associated book.
      *
@@ -155,6 +188,15 @@ public class GoalItem {
         this.bookImageUrl = bookImageUrl;
     }
 
+    /**
+     * Sets the URL of the small list thumbnail of the associated book's cover.
+     *
+     * @param bookThumbUrl The thumbnail URL
+     */
+    public void setBookThumbUrl(String bookThumbUrl) {
+        this.bookThumbUrl = bookThumbUrl;
+    }
+
     /**
      * Sets the unique identifier of the associated book.
      *
@@ -199,4 +241,94 @@ public class GoalItem {
     public void setBookName(String bookName) {
         this.bookName = bookName;
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the goal type.
+     *
+     * @return The goal type; {@link ReadingPace#TYPE_PACE} for pace goals, null for simple goals
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Sets the goal type.
+     *
+     * @param type The goal type
+     */
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    /**
+     * Gets the page the book was at when the pace goal was set.
+     *
+     * @return The starting page
+     */
+    public int getStartPage() {
+        return startPage;
+    }
+
+    /**
+     * Sets the page the book was at when the pace goal was set.
+     *
+     * @param startPage The starting page
+     */
+    public void setStartPage(int startPage) {
+        this.startPage = startPage;
+    }
+
+    /**
+     * Gets the page to reach by the deadline.
+     *
+     * @return The target page
+     */
+    public int getTargetPage() {
+        return targetPage;
+    }
+
+    /**
+     * Sets the page to reach by the deadline.
+     *
+     * @param targetPage The target page
+     */
+    public void setTargetPage(int targetPage) {
+        this.targetPage = targetPage;
+    }
+
+    /**
+     * Gets the time the pace goal was set.
+     *
+     * @return The creation time as a Unix timestamp in milliseconds
+     */
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+
+    /**
+     * Sets the time the pace goal was set.
+     *
+     * @param createdAtMillis The creation time as a Unix timestamp in milliseconds
+     */
+    public void setCreatedAtMillis(long createdAtMillis) {
+        this.createdAtMillis = createdAtMillis;
+    }
+
+    /**
+     * Gets the cached page the book was at when progress was last logged.
+     *
+     * @return The current page
+     */
+    public int getCurrentPage() {
+        return currentPage;
+    }
+
+    /**
+     * Sets the cached page the book was at when progress was last logged.
+     *
+     * @param currentPage The current page
+     */
+    public void setCurrentPage(int currentPage) {
+        this.currentPage = currentPage;
+    }
+}
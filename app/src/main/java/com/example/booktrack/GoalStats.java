@@ -0,0 +1,146 @@
+package com.example.booktrack;
+
+import com.google.firebase.firestore.Exclude;
+
+/**
+ * Data model of a user's aggregate goal statistics, stored in the single document
+ * {@code users/{uid}/stats/goals}. The counters are maintained incrementally by
+ * {@link GoalHistory} in the same write batch that resolves a goal, so reading the
+ * statistics costs one document read however long the goal history grows.
+ *
+ * <p>Key features include:
+ * <ul>
+ *   <li>Counts of completed and failed goals</li>
+ *   <li>Count of goals completed before their deadline, and the derived on-time rate</li>
+ *   <li>Current and best streak of consecutive completed goals</li>
+ * </ul></p>
+ *
+ * <p>Follows JavaBean conventions for Firebase Firestore serialization.</p>
+ *
+ * @author BookTrack Development Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class GoalStats {
+
+    /** Number of goals marked as done */
+    private long completed;
+
+    /** Number of goals marked as failed */
+    private long failed;
+
+    /** Number of goals marked as done before their deadline */
+    private long onTime;
+
+    /** Number of consecutive goals marked as done since the last failure */
+    private long currentStreak;
+
+    /** Longest run of consecutive goals marked as done */
+    private long bestStreak;
+
+    /**
+     * Default no-argument constructor required for Firebase Firestore serialization.
+     */
+    public GoalStats() {}
+
+    /**
+     * Gets the number of completed goals.
+     *
+     * @return the number of goals marked as done
+     */
+    public long getCompleted() {
+        return completed;
+    }
+
+    /**
+     * Sets the number of completed goals.
+     *
+     * @param completed the number of goals marked as done
+     */
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+
+    /**
+     * Gets the number of failed goals.
+     *
+     * @return the number of goals marked as failed
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * Sets the number of failed goals.
+     *
+     * @param failed the number of goals marked as failed
+     */
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    /**
+     * Gets the number of goals completed on time.
+     *
+     * @return the number of goals marked as done before their deadline
+     */
+    public long getOnTime() {
+        return onTime;
+    }
+
+    /**
+     * Sets the number of goals completed on time.
+     *
+     * @param onTime the number of goals marked as done before their deadline
+     */
+    public void setOnTime(long onTime) {
+        this.onTime = onTime;
+    }
+
+    /**
+     * Gets the current streak.
+     *
+     * @return the number of consecutive goals marked as done since the last failure
+     */
+    public long getCurrentStreak() {
+        return currentStreak;
+    }
+
+    /**
+     * Sets the current streak.
+     *
+     * @param currentStreak the number of consecutive goals marked as done since the last failure
+     */
+    public void setCurrentStreak(long currentStreak) {
+        this.currentStreak = currentStreak;
+    }
+
+    /**
+     * Gets the best streak.
+     *
+     * @return the longest run of consecutive goals marked as done
+     */
+    public long getBestStreak() {
+        return bestStreak;
+    }
+
+    /**
+     * Sets the best streak.
+     *
+     * @param bestStreak the longest run of consecutive goals marked as done
+     */
+    public void setBestStreak(long bestStreak) {
+        this.bestStreak = bestStreak;
+    }
+
+    /**
+     * Returns the share of completed goals that were completed before their deadline.
+     * Derived from the counters and not stored.
+     *
+     * @return the on-time rate between 0 and 1, or 0 if no goal was completed yet
+     */
+    @Exclude
+    public double getOnTimeRate() {
+        return completed == 0 ? 0 : (double) onTime / completed;
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.booktrack;
 
 import android.os.Bundle;
+import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.TextView;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -15,11 +17,13 @@ import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.MetadataChanges;
 import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Fragment that displays and manages the user's reading goals in the BookTrack application.
@@ -36,6 +40,8 @@ import java.util.List;
  *   <li>Chronological goal ordering by deadline for priority visualization</li>
  *   <li>Integration with GoalAdapter for rich goal interaction capabilities</li>
  *   <li>Automatic UI updates when goals are added, modified, or removed</li>
+ *   <li>Overdue warnings that appear when a deadline passes while the list is shown</li>
+ *   <li>Goal statistics read from a single summary document</li>
  *   <li>Proper resource management with listener cleanup</li>
  *   <li>User authentication validation and session management</li>
  * </ul></p>
@@ -61,12 +67,15 @@ public class GoalsFragment extends Fragment {
     /** Adapter for managing goal item display in the RecyclerView */
     private GoalAdapter adapter;
 
-    /** List containing all active goal items */
-    private List<GoalItem> goalList = new ArrayList<>();
-
     /** Firebase Firestore listener registration for real-time goal updates */
     private ListenerRegistration goalListener;
 
+    /** TextView summarizing the user's goal statistics */
+    private TextView statsText;
+
+    /** Firebase Firestore listener registration for the goal statistics document */
+    private ListenerRegistration statsListener;
+
     /**
      * Creates and returns the view hierarchy associated with the fragment.
      * This method inflates the goals fragment layout to create the UI structure.
@@ -91,6 +100,7 @@ public class GoalsFragment extends Fragment {
      * <ul>
      *   <li>RecyclerView setup with LinearLayoutManager for vertical scrolling</li>
      *   <li>GoalAdapter creation and binding to the RecyclerView</li>
+     *   <li>Cover preloading a few rows ahead of the scroll position</li>
      *   <li>Initiation of real-time goal data loading from Firestore</li>
      * </ul></p>
      *
@@ -105,10 +115,13 @@ public class GoalsFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         recyclerView = view.findViewById(R.id.goals_recycler_view);
         recyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
-        adapter = new GoalAdapter(requireContext(), goalList);
+        adapter = new GoalAdapter(requireContext());
         recyclerView.setAdapter(adapter);
+        recyclerView.addOnScrollListener(ListCovers.preloader(this, adapter));
+        statsText = view.findViewById(R.id.goal_stats_text);
 
         loadGoals();
+        loadStats();
     }
 
     /**
@@ -121,7 +134,7 @@ public class GoalsFragment extends Fragment {
      *   <li>User authentication validation</li>
      *   <li>Firestore query setup with deadline-based ordering</li>
      *   <li>Real-time snapshot listener registration</li>
-     *   <li>Automatic goal list updates and adapter notifications</li>
+     *   <li>Submission of a fresh goal list, diffed in the background by the adapter</li>
      *   <li>Goal ID assignment from Firestore document IDs</li>
      * </ul></p>
      *
@@ -141,7 +154,7 @@ public class GoalsFragment extends Fragment {
         FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
         if (user == null) return;
 
-        FirebaseFirestore.getInstance()
+        goalListener = FirebaseFirestore.getInstance()
                 .collection("users")
                 .document(user.getUid())
                 .collection("goals")
@@ -149,16 +162,79 @@ public class GoalsFragment extends Fragment {
                 .addSnapshotListener((snapshot, e) -> {
                     if (e != null || snapshot == null) return;
 
-                    goalList.clear();
+                    List<GoalItem> goals = new ArrayList<>();
                     for (QueryDocumentSnapshot doc : snapshot) {
                         GoalItem goal = doc.toObject(GoalItem.class);
                         goal.setId(doc.getId());
-                        goalList.add(goal);
+                        goals.add(goal);
+                    }
+                    adapter.submitList(goals);
+                });
+    }
+
+    /**
+     * Listens to the user's goal statistics document. The counters are maintained by
+     * {@link GoalHistory} whenever a goal is resolved, so one document read covers the
+     * whole goal history. A document missing from the local cache leaves the statistics
+     * unknown, keeping goals unresolvable, until the server confirms it does not exist.
+     */
+    private void loadStats() {
+        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+        if (user == null) return;
+
+        statsListener = GoalHistory.statsRef(FirebaseFirestore.getInstance()
+                        .collection("users")
+                        .document(user.getUid()))
+                // Metadata changes report the server confirming a document that does not exist
+                .addSnapshotListener(MetadataChanges.INCLUDE, (snapshot, e) -> {
+                    if (e != null || snapshot == null) {
+                        // Goals stay unresolvable until the statistics can be read
+                        Log.w("GoalsFragment", "Goal stats listener failed", e);
+                        return;
+                    }
+
+                    // A document missing from the cache may still exist on the server; only the
+                    // server's answer means the user has no statistics yet
+                    if (!snapshot.exists() && snapshot.getMetadata().isFromCache()) {
+                        adapter.setStats(null);
+                        statsText.setVisibility(View.GONE);
+                        return;
+                    }
+
+                    GoalStats stats = snapshot.exists() ? snapshot.toObject(GoalStats.class) : null;
+                    adapter.setStats(stats != null ? stats : new GoalStats());
+                    if (stats == null || stats.getCompleted() + stats.getFailed() == 0) {
+                        statsText.setVisibility(View.GONE);
+                        return;
                     }
-                    adapter.notifyDataSetChanged();
+                    statsText.setText(String.format(Locale.getDefault(),
+                            "Done %d · Failed %d · On time %d%% · Streak %d (best %d)",
+                            stats.getCompleted(), stats.getFailed(),
+                            Math.round(stats.getOnTimeRate() * 100),
+                            stats.getCurrentStreak(), stats.getBestStreak()));
+                    statsText.setVisibility(View.VISIBLE);
                 });
     }
 
+    /**
+     * Starts tracking goal deadlines while the list is visible, first flagging goals whose
+     * deadline passed while the fragment was in the background.
+     */
+    @Override
+    public void onResume() {
+        super.onResume();
+        adapter.startDeadlineTracking();
+    }
+
+    /**
+     * Stops tracking goal deadlines while the list is not visible.
+     */
+    @Override
+    public void onPause() {
+        super.onPause();
+        adapter.stopDeadlineTracking();
+    }
+
     /**
      * Called when the view previously created by onCreateView() has been detached from the fragment.
      * This method performs essential cleanup operations to prevent memory leaks and ensure
@@ -166,7 +242,7 @@ public class GoalsFragment extends Fragment {
      *
      * <p>Cleanup operations include:
      * <ul>
-     *   <li>Removal of the Firebase Firestore snapshot listener</li>
+     *   <li>Removal of the Firebase Firestore snapshot listeners</li>
      *   <li>Prevention of memory leaks from active database connections</li>
      *   <li>Proper resource deallocation following fragment lifecycle</li>
      * </ul></p>
@@ -179,5 +255,6 @@ public class GoalsFragment extends Fragment {
     public void onDestroyView() {
         super.onDestroyView();
         if (goalListener != null) goalListener.remove();
+        if (statsListener != null) statsListener.remove();
     }
 }
\ No newline at end of file
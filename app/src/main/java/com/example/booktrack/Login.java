@@ -5,6 +5,7 @@ import android.Manifest;
 import android.app.AlertDialog;
 import android.content.Context;
 import android.content.Intent;
+import android.content.SharedPreferences;
 import android.content.pm.PackageManager;
 import android.graphics.Color;
 import android.os.Build;
@@ -192,10 +193,17 @@ public class Login extends AppCompatActivity {
                     if (task.isSuccessful()) {
                         FirebaseUser user = FBAuth.getCurrentUser();
                         if (user != null) {
-                            getSharedPreferences("BookTrackPrefs", MODE_PRIVATE)
-                                    .edit()
+                            SharedPreferences prefs = getSharedPreferences("BookTrackPrefs", MODE_PRIVATE);
+                            String previousUid = prefs.getString("uid", null);
+                            prefs.edit()
                                     .putString("uid", user.getUid())
                                     .apply();
+
+                            // Alarms on this device belong to the previous user; load this user's instead
+                            if (!user.getUid().equals(previousUid)) {
+                                AlarmRegistry.getInstance(Login.this).cancelAll();
+                                AlarmSyncWorker.enqueue(Login.this);
+                            }
                         }
 
                         Toast.makeText(Login.this, "Login Successful!", Toast.LENGTH_SHORT).show();
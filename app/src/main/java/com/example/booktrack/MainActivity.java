@@ -58,6 +58,8 @@ public class MainActivity extends AppCompatActivity {
      * sets up the edge-to-edge display, configures window insets, and establishes
      * click listeners for navigation buttons.
      *
+     * It also makes sure the daily cleanup of expired alarms is scheduled.
+     *
      * The method also applies custom styling to buttons and the main view with
      * a consistent color scheme using beige (#FAF0E6) for buttons and cream (#eed9c4)
      * for the background.
@@ -100,5 +102,7 @@ public class MainActivity extends AppCompatActivity {
         TimeToRead_btn.setBackgroundColor(Color.parseColor("#FAF0E6"));
         TimeToRead_btn.setTextColor(Color.BLACK);
         main_view.setBackgroundColor(Color.parseColor("#eed9c4"));
+
+        ExpiredAlarmJanitorWorker.schedule(this);
     }
 }
\ No newline at end of file
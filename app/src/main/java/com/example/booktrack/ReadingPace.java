@@ -0,0 +1,143 @@
+package com.example.booktrack;
+
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Page-based reading progress and the pace goals built on it.
+ * A pace goal asks the reader to reach the book's last page by the goal's deadline. The
+ * required pages per day and whether the reader is on track depend on the clock, so they
+ * are not stored: lists derive them at bind time in O(1) from the goal's start page, target
+ * page, current page, creation time and deadline.
+ *
+ * <p>Logging progress or changing the page count touches the book and the pace goals of
+ * that book only: the goals are found with a query on {@code bookId}, and their current
+ * and target pages are updated in one batch.</p>
+ *
+ * <p>Key features include:
+ * <ul>
+ *   <li>Required daily pace: the pages left divided by the days left, rounded up</li>
+ *   <li>On-track status: whether the reader is at or ahead of the page a steady pace from
+ *       the goal's start would have reached by now</li>
+ *   <li>Progress percentages for list progress bars</li>
+ * </ul></p>
+ *
+ * @author BookTrack Development Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class ReadingPace {
+
+    /** Goal type of pace goals */
+    public static final String TYPE_PACE = "PACE";
+
+    /** Length of a day in milliseconds */
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+
+    /**
+     * Not instantiable; all members are static.
+     */
+    private ReadingPace() {}
+
+    /**
+     * Returns whether a goal is a pace goal.
+     *
+     * @param goal the goal
+     * @return true if the goal's type is {@link #TYPE_PACE}
+     */
+    public static boolean isPace(GoalItem goal) {
+        return TYPE_PACE.equals(goal.getType());
+    }
+
+    /**
+     * Returns how many pages a day must be read to reach the target page by the deadline.
+     * Less than a day left counts as one day.
+     *
+     * @param currentPage the page reached
+     * @param targetPage  the page to reach
+     * @param deadline    the deadline
+     * @param now         the current time
+     * @return the required pages per day; 0 once the target is reached
+     */
+    public static int requiredPagesPerDay(int currentPage, int targetPage, long deadline, long now) {
+        int pagesLeft = targetPage - currentPage;
+        if (pagesLeft <= 0) return 0;
+        long daysLeft = Math.max(1, (deadline - now + DAY_MS - 1) / DAY_MS);
+        return (int) ((pagesLeft + daysLeft - 1) / daysLeft);
+    }
+
+    /**
+     * Returns whether the reader is at or ahead of a steady pace from the start page at the
+     * goal's creation to the target page at its deadline.
+     *
+     * @param goal        the pace goal
+     * @param currentPage the page reached
+     * @param now         the current time
+     * @return true if the reader is on track
+     */
+    public static boolean isOnTrack(GoalItem goal, int currentPage, long now) {
+        if (currentPage >= goal.getTargetPage()) return true;
+        long span = goal.getDeadlineMillis() - goal.getCreatedAtMillis();
+        if (span <= 0 || now >= goal.getDeadlineMillis()) return false;
+        double elapsed = Math.max(0, now - goal.getCreatedAtMillis()) / (double) span;
+        double expected = goal.getStartPage() + (goal.getTargetPage() - goal.getStartPage()) * elapsed;
+        return currentPage >= Math.floor(expected);
+    }
+
+    /**
+     * Returns a page as a percentage of a total, for progress bars.
+     *
+     * @param page  the page reached
+     * @param total the total pages
+     * @return the percentage between 0 and 100, or 0 if the total is unknown
+     */
+    public static int percent(int page, int total) {
+        if (total <= 0) return 0;
+        return Math.max(0, Math.min(100, page * 100 / total));
+    }
+
+    /**
+     * Updates the current and target page of every pace goal of a book after progress was
+     * logged or the book's page count changed, writing the changes in one batch. Goals that
+     * already hold both values are not written.
+     *
+     * @param uid         the ID of the user owning the book
+     * @param bookId      the ID of the book
+     * @param currentPage the page reached
+     * @param pageCount   the book's page count, which pace goals target
+     * @return a task completing once the goals are updated
+     */
+    public static Task<Void> updatePaceGoals(String uid, String bookId, int currentPage, int pageCount) {
+        FirebaseFirestore db = FirebaseFirestore.getInstance();
+        CollectionReference goals = db.collection("users").document(uid).collection("goals");
+
+        return goals.whereEqualTo("bookId", bookId).get().onSuccessTask(snapshot -> {
+            WriteBatch batch = db.batch();
+            int updated = 0;
+            for (DocumentSnapshot doc : snapshot.getDocuments()) {
+                GoalItem goal = doc.toObject(GoalItem.class);
+                if (goal == null || !isPace(goal)) continue;
+                if (goal.getCurrentPage() == currentPage && goal.getTargetPage() == pageCount) continue;
+
+                Map<String, Object> pages = new HashMap<>();
+                pages.put("currentPage", currentPage);
+                pages.put("targetPage", pageCount);
+                batch.update(doc.getReference(), pages);
+                updated++;
+            }
+            if (updated == 0) return Tasks.forResult(null);
+
+            Log.d("ReadingPace", "Updating pages of " + updated + " goals of book " + bookId);
+            return batch.commit();
+        });
+    }
+}
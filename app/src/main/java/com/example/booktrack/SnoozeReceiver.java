@@ -0,0 +1,149 @@
+package com.example.booktrack;
+
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.util.Log;
+
+import java.util.Calendar;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * BroadcastReceiver handling the snooze actions of alarm notifications.
+ * {@link AlarmReceiver} adds "10 min", "1 h" and "Tomorrow" actions to the notification of
+ * every one-time alarm; tapping one lands here without starting any activity.
+ *
+ * <p>The fired alarm was already taken out of the queue, so the action carries everything
+ * needed to queue it again. The alarm keeps its ID and request code, and its Firestore
+ * document only gets a new {@code deadlineMillis}; the queued {@link AlarmWriteWorker}
+ * replaces the pending deletion of the document.</p>
+ *
+ * <p>Key features include:
+ * <ul>
+ *   <li>Rescheduling through {@link AlarmRegistry}, which re-arms {@link AlarmScheduler}</li>
+ *   <li>One action PendingIntent per alarm and snooze option, keyed by the alarm's request code</li>
+ *   <li>Dismissal of the snoozed notification</li>
+ *   <li>Single-field Firestore update handed to {@link AlarmWriteWorker}</li>
+ * </ul></p>
+ *
+ * @author BookTrack Development Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class SnoozeReceiver extends BroadcastReceiver {
+
+    /** Action snoozing the alarm for ten minutes */
+    static final String ACTION_SNOOZE_10_MIN = "com.example.booktrack.SNOOZE_10_MIN";
+
+    /** Action snoozing the alarm for an hour */
+    static final String ACTION_SNOOZE_1_HOUR = "com.example.booktrack.SNOOZE_1_HOUR";
+
+    /** Action moving the alarm to the same time tomorrow */
+    static final String ACTION_SNOOZE_TOMORROW = "com.example.booktrack.SNOOZE_TOMORROW";
+
+    /** Background thread used to update the alarm queue outside the main thread */
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    /**
+     * Creates the PendingIntent of one snooze action of an alarm notification.
+     * The request code is the alarm's, and the action differs per option, so every alarm
+     * and option gets its own PendingIntent.
+     *
+     * @param context the application context
+     * @param entry   the delivered alarm
+     * @param action  one of the {@code ACTION_SNOOZE_} constants
+     * @return the PendingIntent to attach to the notification action
+     */
+    static PendingIntent actionIntent(Context context, AlarmQueue.Entry entry, String action) {
+        AlarmItem alarm = entry.alarm;
+        Intent intent = new Intent(context, SnoozeReceiver.class)
+                .setAction(action)
+                .putExtra("uid", entry.uid)
+                .putExtra("request_code", entry.requestCode)
+                .putExtra("alarm_id", alarm.getAlarmId())
+                .putExtra("book_id", alarm.getBookId())
+                .putExtra("book_name", alarm.getBookName())
+                .putExtra("alarm_message", alarm.getMessage())
+                .putExtra("deadline_millis", alarm.getDeadlineMillis())
+                .putExtra("precision", alarm.getPrecision())
+                .putExtra("window_millis", alarm.getWindowMillis());
+        return PendingIntent.getBroadcast(context, entry.requestCode, intent,
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+    }
+
+    /**
+     * Reschedules the alarm of the tapped action.
+     *
+     * @param context The Context in which the receiver is running
+     * @param intent  The action's Intent, carrying the alarm
+     */
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        Context appContext = context.getApplicationContext();
+        String uid = intent.getStringExtra("uid");
+        String alarmId = intent.getStringExtra("alarm_id");
+        int requestCode = intent.getIntExtra("request_code", 0);
+        if (uid == null || alarmId == null || intent.getAction() == null) {
+            Log.w("SnoozeReceiver", "Incomplete snooze action");
+            return;
+        }
+
+        AlarmItem alarm = new AlarmItem(alarmId,
+                intent.getStringExtra("book_id"),
+                intent.getStringExtra("book_name"),
+                null,
+                intent.getLongExtra("deadline_millis", System.currentTimeMillis()),
+                intent.getStringExtra("alarm_message"));
+        alarm.setPrecision(intent.getStringExtra("precision"));
+        alarm.setWindowMillis(intent.getLongExtra("window_millis", 0));
+        long deadline = snoozedDeadline(intent.getAction(), alarm.getDeadlineMillis(), System.currentTimeMillis());
+
+        NotificationManager manager = (NotificationManager) appContext.getSystemService(Context.NOTIFICATION_SERVICE);
+        if (manager != null) manager.cancel(requestCode);
+
+        PendingResult result = goAsync();
+        executor.execute(() -> {
+            try {
+                AlarmRegistry.getInstance(appContext).snooze(uid, alarm, requestCode, deadline);
+                AlarmWriteWorker.enqueueDeadline(appContext, uid, alarmId, deadline);
+                Log.i("SnoozeReceiver", "Alarm " + alarmId + " snoozed until " + deadline);
+            } catch (RuntimeException e) {
+                Log.e("SnoozeReceiver", "Failed to snooze alarm " + alarmId, e);
+            } finally {
+                AlarmRegistry.getInstance(appContext).awaitWrites();
+                result.finish();
+            }
+        });
+    }
+
+    /**
+     * Computes the new deadline of a snoozed alarm.
+     *
+     * @param action   the snooze action
+     * @param deadline the deadline the alarm fired for
+     * @param now      the current time
+     * @return ten minutes or an hour from now, or tomorrow at the alarm's time of day
+     */
+    private static long snoozedDeadline(String action, long deadline, long now) {
+        switch (action) {
+            case ACTION_SNOOZE_1_HOUR:
+                return now + 60 * 60 * 1000;
+            case ACTION_SNOOZE_TOMORROW:
+                Calendar original = Calendar.getInstance();
+                original.setTimeInMillis(deadline);
+                Calendar tomorrow = Calendar.getInstance();
+                tomorrow.setTimeInMillis(now);
+                tomorrow.add(Calendar.DAY_OF_YEAR, 1);
+                tomorrow.set(Calendar.HOUR_OF_DAY, original.get(Calendar.HOUR_OF_DAY));
+                tomorrow.set(Calendar.MINUTE, original.get(Calendar.MINUTE));
+                tomorrow.set(Calendar.SECOND, 0);
+                tomorrow.set(Calendar.MILLISECOND, 0);
+                return tomorrow.getTimeInMillis();
+            default:
+                return now + 10 * 60 * 1000;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.booktrack;
 
+import android.content.Intent;
 import android.os.Bundle;
 
 import androidx.activity.EdgeToEdge;
@@ -29,6 +30,7 @@ import com.google.android.material.floatingactionbutton.FloatingActionButton;
  *   <li>Seamless navigation between alarms, goals, and timer functionality</li>
  *   <li>Consistent UI experience across all time management features</li>
  *   <li>Back navigation support through floating action button</li>
+ *   <li>Alarm delivery diagnostics behind a long press on the Alarms tab</li>
  * </ul></p>
  *
  * <p>The three main sections accessible through bottom navigation are:
@@ -62,6 +64,7 @@ public class TimeToRead extends AppCompatActivity {
      *   <li>Fragment switching logic for seamless navigation between sections</li>
      *   <li>Default fragment selection (AlarmsFragment) for initial user experience</li>
      *   <li>Back navigation button setup for returning to previous activity</li>
+     *   <li>Long press on the Alarms tab opening {@link AlarmDiagnostics}</li>
      * </ul></p>
      *
      * <p>Navigation configuration includes:
@@ -119,6 +122,10 @@ public class TimeToRead extends AppCompatActivity {
         });
 
         navView.setSelectedItemId(R.id.nav_alarm);
+        navView.findViewById(R.id.nav_alarm).setOnLongClickListener(v -> {
+            startActivity(new Intent(TimeToRead.this, AlarmDiagnostics.class));
+            return true;
+        });
         arrow = findViewById(R.id.arrow);
         arrow.setOnClickListener(v ->finish());
     }
@@ -12,7 +12,6 @@ import android.os.Build;
 import android.os.Bundle;
 import android.os.CountDownTimer;
 import android.provider.Settings;
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -28,16 +27,10 @@ import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
 
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseUser;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.ListenerRegistration;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
-
 /**
  * Fragment that provides countdown timer functionality for reading sessions in the BookTrack application.
  * This fragment offers a comprehensive timer interface with foreground service integration,
- * notification management, and automatic cleanup of expired alarms.
+ * and notification management.
  *
  * <p>The TimerFragment serves as a dedicated tool for users to track their reading time
  * with precise countdown functionality, background operation support, and integration
@@ -50,7 +43,6 @@ import com.google.firebase.firestore.QueryDocumentSnapshot;
  *   <li>Foreground service integration for background timer operation</li>
  *   <li>Notification channel management and permission handling</li>
  *   <li>System alarm scheduling for precise timer completion alerts</li>
- *   <li>Automatic cleanup of expired alarms from Firebase Firestore</li>
  *   <li>Sound control capabilities for timer completion notifications</li>
  * </ul></p>
  *
@@ -58,9 +50,6 @@ import com.google.firebase.firestore.QueryDocumentSnapshot;
  * permissions for Android 13+, exact alarm scheduling for Android 12+, and proper
  * foreground service management for reliable background operation.</p>
  *
- * <p>Integration with Firebase Firestore provides automatic cleanup of expired alarms,
- * maintaining database hygiene and ensuring optimal application performance.</p>
- *
  * @author BookTrack Development Team
  * @version 1.0
  * @since 1.0
@@ -97,15 +86,6 @@ public class TimerFragment extends Fragment {
     /** Flag indicating whether to start timer after permission is granted */
     private boolean shouldStartTimerAfterPermission = false;
 
-    /** Firebase Firestore instance for alarm cleanup operations */
-    private FirebaseFirestore db;
-
-    /** Current authenticated Firebase user */
-    private FirebaseUser currentUser;
-
-    /** Firebase Firestore listener registration for alarm monitoring */
-    private ListenerRegistration alarmListener;
-
     /** Button to stop timer completion sound/notification */
     private Button stopSoundButton;
 
@@ -131,15 +111,12 @@ public class TimerFragment extends Fragment {
 
     /**
      * Called immediately after onCreateView() has returned, providing access to the created view hierarchy.
-     * This method initializes all UI components, sets up event listeners, creates notification channels,
-     * and begins monitoring expired alarms.
+     * This method initializes all UI components, sets up event listeners and creates notification channels.
      *
      * <p>The initialization process includes:
      * <ul>
      *   <li>UI component binding and event listener setup</li>
      *   <li>Notification channel creation for timer alerts</li>
-     *   <li>Firebase Firestore and Authentication initialization</li>
-     *   <li>Expired alarm monitoring and cleanup setup</li>
      *   <li>Sound control button configuration</li>
      * </ul></p>
      *
@@ -159,11 +136,6 @@ public class TimerFragment extends Fragment {
         cancelButton.setOnClickListener(v -> cancelTimer());
         createNotificationChannel();
 
-        db = FirebaseFirestore.getInstance();
-        currentUser = FirebaseAuth.getInstance().getCurrentUser();
-
-        listenToAndCleanExpiredAlarms();
-
         stopSoundButton = view.findViewById(R.id.stop_sound_button);
 
         stopSoundButton.setOnClickListener(v -> {
@@ -354,50 +326,6 @@ public class TimerFragment extends Fragment {
         }
     }
 
-    /**
-     * Sets up real-time monitoring and cleanup of expired alarms from Firebase Firestore.
-     * This method implements automatic database hygiene by removing alarms that have
-     * passed their deadline, maintaining optimal application performance.
-     *
-     * <p>The monitoring process includes:
-     * <ul>
-     *   <li>User authentication validation</li>
-     *   <li>Real-time snapshot listener setup on user's alarm collection</li>
-     *   <li>Automatic detection of expired alarms by comparing deadline with current time</li>
-     *   <li>Immediate deletion of expired alarms from Firestore</li>
-     *   <li>Comprehensive logging for debugging and monitoring</li>
-     * </ul></p>
-     *
-     * <p>This automatic cleanup ensures that the alarm system remains efficient
-     * and prevents accumulation of outdated alarm data in the database.</p>
-     */
-    private void listenToAndCleanExpiredAlarms() {
-        if (currentUser == null) return;
-
-        alarmListener = db.collection("users")
-                .document(currentUser.getUid())
-                .collection("alarms")
-                .addSnapshotListener((snapshot, error) -> {
-                    if (error != null) {
-                        Log.e("TimerFragment", "Failed to load alarms", error);
-                        return;
-                    }
-
-                    if (snapshot != null) {
-                        for (QueryDocumentSnapshot doc : snapshot) {
-                            AlarmItem alarm = doc.toObject(AlarmItem.class);
-                            if (alarm.getDeadlineMillis() < System.currentTimeMillis()) {
-                                doc.getReference().delete()
-                                        .addOnSuccessListener(aVoid ->
-                                                Log.d("TimerFragment", "Deleted expired alarm: " + alarm.getAlarmId()))
-                                        .addOnFailureListener(e ->
-                                                Log.e("TimerFragment", "Failed to delete expired alarm", e));
-                            }
-                        }
-                    }
-                });
-    }
-
     /**
      * Schedules a system alarm for timer completion notification.
      * This method creates a precise system alarm that will trigger when the timer
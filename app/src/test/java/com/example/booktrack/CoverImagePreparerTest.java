@@ -0,0 +1,40 @@
+package com.example.booktrack;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the subsampling of {@link CoverImagePreparer}.
+ */
+public class CoverImagePreparerTest {
+    @Test
+    public void sampleSize_smallImageIsNotSubsampled() {
+        assertEquals(1, CoverImagePreparer.sampleSize(800, 1600));
+        assertEquals(1, CoverImagePreparer.sampleSize(1600, 1600));
+        assertEquals(1, CoverImagePreparer.sampleSize(0, 1600));
+    }
+
+    @Test
+    public void sampleSize_largeImageKeepsAtLeastTheLongEdge() {
+        assertEquals(2, CoverImagePreparer.sampleSize(3200, 1600));
+        assertEquals(2, CoverImagePreparer.sampleSize(4000, 1600));
+        assertEquals(4, CoverImagePreparer.sampleSize(6400, 1600));
+        assertEquals(8, CoverImagePreparer.sampleSize(4000, 330));
+    }
+
+    @Test
+    public void sampleSize_resultDecodesAtLeastMaxLongEdge() {
+        for (int longEdge = 1; longEdge <= 10000; longEdge += 37) {
+            int sampleSize = CoverImagePreparer.sampleSize(longEdge, 500);
+            assertTrue(sampleSize >= 1);
+            assertEquals(0, sampleSize & (sampleSize - 1));
+            if (sampleSize > 1) assertTrue(longEdge / sampleSize >= 500);
+        }
+    }
+
+    @Test
+    public void sampleSize_invalidMaxLongEdgeIsNotSubsampled() {
+        assertEquals(1, CoverImagePreparer.sampleSize(4000, 0));
+    }
+}